@@ -1,28 +1,35 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
 import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.IList;
 // import misc.exceptions.NotYetImplementedException;
 
 /**
  * See IDisjointSet for more details.
+ *
+ * Each item is given the next int id when it is added, and the sets
+ * themselves live in an IntDisjointSet over those ids; this class only maps
+ * items to ids. The representative findSet returns is such an id.
  */
 public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     // Note: do NOT rename or delete this field. We will be inspecting it
     // directly within our private tests.
+    //
+    // pointers[i] is the parent of item i, or negative if i is a root. It is
+    // the very array the IntDisjointSet below works on, not a copy.
     private int[] pointers;
-    private static final int INIT_LENGTH = 10;
-    private IDictionary<T, Integer> data;
-    private int size;
-    // However, feel free to add more methods and private helper methods.
-    // You will probably need to add one or two more fields in order to
-    // successfully implement this class.
+    private IntDisjointSet sets;
+    private ObjectIntDictionary<T> data;
+    // items[i] is the item with id i
+    private T[] items;
 
+    @SuppressWarnings("unchecked")
     public ArrayDisjointSet() {
-        this.pointers = new int[INIT_LENGTH];
-        this.data = new ChainedHashDictionary<T, Integer>();
-        this.size = 0;
+        this.sets = new IntDisjointSet();
+        this.pointers = this.sets.pointers();
+        this.data = new ObjectIntDictionary<>();
+        this.items = (T[]) new Object[10];
     }
 
     @Override
@@ -30,34 +37,34 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
         if (this.contains(item)) {
             throw new IllegalArgumentException("Already in the Set");
         }
-        if (this.pointers.length == this.size) {
-            int[] temp = new int[this.pointers.length * 2];
-            for (int i = 0; i < this.pointers.length; i++) {
-                temp[i] = this.pointers[i];
+        int index = this.sets.add();
+        this.pointers = this.sets.pointers(); // add() may have grown it
+        if (index == this.items.length) {
+            @SuppressWarnings("unchecked")
+            T[] temp = (T[]) new Object[2 * index];
+            for (int i = 0; i < index; i++) {
+                temp[i] = this.items[i];
             }
-            this.pointers = temp;
+            this.items = temp;
         }
-        this.data.put(item, this.size);
-        this.pointers[this.size] = -1;
-        this.size++;
+        this.items[index] = item;
+        this.data.put(item, index);
     }
 
-    @Override
-    public int findSet(T item) {
-        if (!this.contains(item)) {
+    /*
+     * return the id of the given item
+     */
+    private int indexOf(T item) {
+        int index = this.data.getOrDefault(item, -1);
+        if (index == -1) {
             throw new IllegalArgumentException("Not in the Set");
         }
-        int index = this.data.get(item);        
-        return this.findRank(index);
+        return index;
     }
-    
-    private int findRank(int index) {
-        if (this.pointers[index] < 0) {
-            return index;
-        }
-        int result = this.findRank(this.pointers[index]);
-        this.pointers[index] = result;
-        return result;
+
+    @Override
+    public int findSet(T item) {
+        return this.sets.find(this.indexOf(item));
     }
 
     private boolean contains(T item) {
@@ -66,23 +73,31 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     
     @Override
     public void union(T item1, T item2) {
-        if (!this.contains(item1) || !this.contains(item2)) {
-            throw new IllegalArgumentException("Not in the set");
-        }
-        int index1 = this.findSet(item1);
-        int index2 = this.findSet(item2); 
-        if (index1 == index2) {
+        // indexOf throws if either item is missing
+        if (!this.sets.union(this.indexOf(item1), this.indexOf(item2))) {
             throw new IllegalArgumentException("in the same set");
         }
-        int rank1 = this.pointers[index1];
-        int rank2 = this.pointers[index2];
-        if (rank2 < rank1) { // rank2 is actually larger than rank1!
-            this.pointers[index1] = index2;
-        } else if (rank2 > rank1){
-            this.pointers[index2] = index1;
-        } else {
-            this.pointers[index2] = index1;
-            this.pointers[index1]--;
-        }
+    }
+
+    @Override
+    public int numSets() {
+        return this.sets.numSets();
+    }
+
+    @Override
+    public int sizeOfSet(T item) {
+        return this.sets.sizeOfSet(this.indexOf(item));
+    }
+
+    @Override
+    public IList<T> membersOfSet(T item) {
+        int start = this.indexOf(item);
+        IList<T> result = new DoubleLinkedList<>();
+        int index = start;
+        do {
+            result.add(this.items[index]);
+            index = this.sets.nextInSet(index);
+        } while (index != start);
+        return result;
     }
 }
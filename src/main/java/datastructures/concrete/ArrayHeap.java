@@ -1,5 +1,6 @@
 package datastructures.concrete;
 
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.EmptyContainerException;
 
@@ -23,6 +24,20 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         this.heap = makeArrayOfT(INIT_SIZE);
     }
 
+    /**
+     * Constructs a heap containing every item in the given list.
+     *
+     * The heap array is sized to fit the items exactly and is ordered bottom-up,
+     * which takes O(n) comparisons instead of the O(n log n) of n inserts.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(IList<T> items) {
+        this.heapSize = 0;
+        this.heap = makeArrayOfT(Math.max(items.size(), 1));
+        this.insertAll(items);
+    }
+
     /**
      * This method will return a new, empty array of the given size
      * that can contain elements of type T.
@@ -47,6 +62,61 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
             throw new EmptyContainerException("This list is empty");
         }
     }
+
+    /**
+     * Moves the item at the given index up until its parent is no larger.
+     */
+    private void percolateUp(int index) {
+        T item = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / NUM_CHILDREN;
+            if (this.heap[parent].compareTo(item) <= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[parent];
+            index = parent;
+        }
+        this.heap[index] = item;
+    }
+
+    /**
+     * Moves the item at the given index down until none of its children is smaller.
+     */
+    private void percolateDown(int index) {
+        T item = this.heap[index];
+        while (true) {
+            int first = NUM_CHILDREN * index + 1;
+            if (first >= this.heapSize) {
+                break;
+            }
+            int last = Math.min(first + NUM_CHILDREN, this.heapSize);
+            int minIndex = first;
+            for (int i = first + 1; i < last; i++) {
+                if (this.heap[i].compareTo(this.heap[minIndex]) < 0) {
+                    minIndex = i;
+                }
+            }
+            if (item.compareTo(this.heap[minIndex]) <= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[minIndex];
+            index = minIndex;
+        }
+        this.heap[index] = item;
+    }
+
+    /**
+     * Grows the heap array so that it can hold at least the given number of items.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.heap.length) {
+            T[] temp = this.makeArrayOfT(Math.max(capacity, this.heap.length * 2));
+            for (int i = 0; i < this.heapSize; i++) {
+                temp[i] = this.heap[i];
+            }
+            this.heap = temp;
+        }
+    }
     
     /**
      * Removes and returns the minimum item in the heap. Throws and EmptyContainerException
@@ -56,31 +126,12 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     public T removeMin() {
         this.emptyError();
         T result = this.peekMin();
-        this.heap[0] = this.heap[this.heapSize - 1];
-        this.heap[this.heapSize - 1] = null;
-        int index = 0;
-        
-        while (index < this.heapSize / NUM_CHILDREN || 
-                (index * NUM_CHILDREN + 1 <= this.heapSize && this.heap[index * NUM_CHILDREN + 1] != null)) {
-            int count = 1;
-            for (int i = 1; i <= NUM_CHILDREN; i++) {
-                T temp = this.heap[NUM_CHILDREN * index + i];
-                if (temp != null && temp.compareTo(this.heap[NUM_CHILDREN * index + count]) < 0) {
-                    count = i;
-                }
-            }
-            
-            int minIndex = NUM_CHILDREN * index + count;
-            if (this.heap[index].compareTo(this.heap[minIndex]) > 0) {
-                T temp = this.heap[minIndex];
-                this.heap[minIndex] = this.heap[index];
-                this.heap[index] = temp;
-                index = minIndex;
-            } else {
-                break;
-            }
-        }
         this.heapSize--;
+        this.heap[0] = this.heap[this.heapSize];
+        this.heap[this.heapSize] = null;
+        if (this.heapSize > 0) {
+            this.percolateDown(0);
+        }
         return result;
     }
     
@@ -103,25 +154,43 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         if (item == null) {
             throw new IllegalArgumentException("item cannot be null");
         }
-        if (NUM_CHILDREN * this.heapSize + NUM_CHILDREN > this.heap.length) { // resize
-            T[] temp = this.makeArrayOfT(this.heap.length * NUM_CHILDREN + NUM_CHILDREN);
-            for (int i = 0; i < this.heapSize; i++) {
-                temp[i] = this.heap[i];
+        this.ensureCapacity(this.heapSize + 1);
+        this.heap[this.heapSize] = item;
+        this.heapSize++;
+        this.percolateUp(this.heapSize - 1);
+    }
+
+    /**
+     * Inserts every item in the given list. The array grows at most once, to
+     * at least the new size. When the list is at least as large as the heap, the
+     * whole heap is rebuilt bottom-up in O(n); otherwise each new item is
+     * percolated up on its own.
+     */
+    @Override
+    public void insertAll(IList<T> items) {
+        int oldSize = this.heapSize;
+        this.ensureCapacity(oldSize + items.size());
+        for (T item : items) {
+            if (item == null) {
+                for (int i = oldSize; i < this.heapSize; i++) {
+                    this.heap[i] = null;
+                }
+                this.heapSize = oldSize;
+                throw new IllegalArgumentException("item cannot be null");
             }
-            this.heap = temp;            
+            this.heap[this.heapSize] = item;
+            this.heapSize++;
         }
-
-        int index = this.heapSize;
-        this.heap[index] = item;
-        int parent = (index - 1) / NUM_CHILDREN;
-        while (index > 0 && this.heap[parent].compareTo(this.heap[index]) > 0) {
-            T temp = this.heap[index];
-            this.heap[index] = this.heap[parent];
-            this.heap[parent] = temp;
-            index = parent;
-            parent = (index - 1) / NUM_CHILDREN;
+        if (this.heapSize - oldSize >= oldSize) {
+            // the last item's parent is the last node that has any children
+            for (int i = (this.heapSize - 2) / NUM_CHILDREN; i >= 0 && this.heapSize > 1; i--) {
+                this.percolateDown(i);
+            }
+        } else {
+            for (int i = oldSize; i < this.heapSize; i++) {
+                this.percolateUp(i);
+            }
         }
-        this.heapSize++;
     }
 
     /**
@@ -2,10 +2,12 @@ package datastructures.concrete;
 
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import datastructures.interfaces.ISet;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * See ISet for more details on what each method is supposed to do.
@@ -65,26 +67,44 @@ public class ChainedHashSet<T> implements ISet<T> {
 
     @Override
     public Iterator<T> iterator() {
-        return new SetIterator<>(this.map.iterator());
+        return new SetIterator<>(this.map.cursor());
     }
 
+    /*
+     * call the action on every item, walking the map's storage in place
+     * @see java.lang.Iterable#forEach(java.util.function.Consumer)
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        this.map.forEach((key, value) -> action.accept(key));
+    }
+
+    /*
+     * adapts the map's cursor to an iterator over its keys, so that no
+     * KVPair is allocated per item
+     */
     private static class SetIterator<T> implements Iterator<T> {
-        // This should be the only field you need
-        private Iterator<KVPair<T, Boolean>> iter;
+        private IDictionaryCursor<T, Boolean> cursor;
+        private boolean hasNext;
 
-        public SetIterator(Iterator<KVPair<T, Boolean>> iter) {
-            // No need to change this method.
-            this.iter = iter;
+        public SetIterator(IDictionaryCursor<T, Boolean> cursor) {
+            this.cursor = cursor;
+            this.hasNext = cursor.advance();
         }
 
         @Override
         public boolean hasNext() {
-            return this.iter.hasNext();
+            return this.hasNext;
         }
 
         @Override
         public T next() {
-            return (T) this.iter.next().getKey();
+            if (!this.hasNext) {
+                throw new NoSuchElementException("Set is empty");
+            }
+            T result = this.cursor.key();
+            this.hasNext = this.cursor.advance();
+            return result;
         }
     }
 }
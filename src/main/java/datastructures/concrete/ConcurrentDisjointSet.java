@@ -0,0 +1,224 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.IList;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A thread-safe disjoint set: any number of threads may call makeSet,
+ * findSet and union at once, and none of them ever blocks another.
+ *
+ * Every item gets an index, and parent[i] == i marks a root. findSet walks to
+ * the root while halving the path with compare-and-set (a failed CAS only
+ * means another thread already shortened it). union always links the root
+ * with the larger index under the one with the smaller index, using a CAS
+ * that only succeeds if the former is still a root, and retries otherwise;
+ * since links always point to smaller indices, no two threads can ever
+ * create a cycle.
+ *
+ * The parents live in fixed-size AtomicIntegerArray chunks. Growing only adds
+ * chunks and never moves existing ones, so it cannot lose a concurrent link.
+ *
+ * Set sizes are kept at the roots. After a link, the linked root hands its
+ * size over to its new parent. Whoever adds to a node that has stopped being
+ * a root hands the amount on up, so once every union has returned, each
+ * root's size is exact. Until then, sizeOfSet and numSets may lag behind
+ * unions still in progress. membersOfSet visits every item, since the only
+ * per-set structure here is the forest itself.
+ *
+ * See IDisjointSet for more details.
+ */
+public class ConcurrentDisjointSet<T> implements IDisjointSet<T> {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final ConcurrentChainedHashDictionary<T, Integer> indices;
+    private final AtomicInteger nextIndex;
+    private volatile AtomicIntegerArray[] chunks;
+    // same layout as chunks; holds each root's set size
+    private volatile AtomicIntegerArray[] sizeChunks;
+    private final AtomicInteger numSets;
+
+    public ConcurrentDisjointSet() {
+        this.indices = new ConcurrentChainedHashDictionary<>();
+        this.nextIndex = new AtomicInteger(0);
+        this.chunks = new AtomicIntegerArray[1];
+        this.chunks[0] = new AtomicIntegerArray(CHUNK_SIZE);
+        this.sizeChunks = new AtomicIntegerArray[1];
+        this.sizeChunks[0] = new AtomicIntegerArray(CHUNK_SIZE);
+        this.numSets = new AtomicInteger(0);
+    }
+
+    private int getParent(int index) {
+        return this.chunks[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    private boolean casParent(int index, int expected, int parent) {
+        return this.chunks[index >>> CHUNK_BITS].compareAndSet(index & CHUNK_MASK, expected, parent);
+    }
+
+    private AtomicIntegerArray sizeChunkOf(int index) {
+        return this.sizeChunks[index >>> CHUNK_BITS];
+    }
+
+    /*
+     * make sure the chunk holding the given index exists
+     */
+    private void ensureChunk(int index) {
+        int chunk = index >>> CHUNK_BITS;
+        AtomicIntegerArray[] current = this.sizeChunks;
+        if (chunk < current.length && current[chunk] != null) {
+            return;
+        }
+        synchronized (this) {
+            current = this.sizeChunks;
+            if (chunk < current.length && current[chunk] != null) {
+                return; // another thread made it meanwhile
+            }
+            // sizes are published last, so the check above sees both or neither
+            this.chunks = withChunk(this.chunks, chunk);
+            this.sizeChunks = withChunk(this.sizeChunks, chunk);
+        }
+    }
+
+    /*
+     * return a copy of the given chunks, grown if needed, with the given chunk
+     * created; the original is never written to, since other threads read it
+     * without locking, and a new chunk may only reach them through the
+     * volatile write that publishes the copy
+     */
+    private static AtomicIntegerArray[] withChunk(AtomicIntegerArray[] current, int chunk) {
+        int length = current.length;
+        if (chunk >= length) {
+            length = Math.max(chunk + 1, 2 * length);
+        }
+        AtomicIntegerArray[] copy = new AtomicIntegerArray[length];
+        for (int i = 0; i < current.length; i++) {
+            copy[i] = current[i];
+        }
+        if (copy[chunk] == null) {
+            copy[chunk] = new AtomicIntegerArray(CHUNK_SIZE);
+        }
+        return copy;
+    }
+
+    @Override
+    public void makeSet(T item) {
+        if (this.indices.containsKey(item)) {
+            throw new IllegalArgumentException("Already in the Set");
+        }
+        int index = this.nextIndex.getAndIncrement();
+        this.ensureChunk(index);
+        this.chunks[index >>> CHUNK_BITS].set(index & CHUNK_MASK, index);
+        this.sizeChunkOf(index).set(index & CHUNK_MASK, 1);
+        // if another thread added the item meanwhile, this index just stays unused
+        if (this.indices.putIfAbsent(item, index) != null) {
+            throw new IllegalArgumentException("Already in the Set");
+        }
+        this.numSets.incrementAndGet();
+    }
+
+    private int indexOf(T item) {
+        Integer index = this.indices.getOrDefault(item, null);
+        if (index == null) {
+            throw new IllegalArgumentException("Not in the Set");
+        }
+        return index;
+    }
+
+    /*
+     * return the root of the given index, pointing every other node on the
+     * way at its grandparent
+     */
+    private int findRoot(int index) {
+        while (true) {
+            int parent = this.getParent(index);
+            if (parent == index) {
+                return index;
+            }
+            int grandparent = this.getParent(parent);
+            if (parent != grandparent) {
+                this.casParent(index, parent, grandparent);
+            }
+            index = grandparent;
+        }
+    }
+
+    @Override
+    public int findSet(T item) {
+        return this.findRoot(this.indexOf(item));
+    }
+
+    @Override
+    public void union(T item1, T item2) {
+        int index1 = this.indexOf(item1);
+        int index2 = this.indexOf(item2);
+        while (true) {
+            int root1 = this.findRoot(index1);
+            int root2 = this.findRoot(index2);
+            if (root1 == root2) {
+                throw new IllegalArgumentException("in the same set");
+            }
+            int smaller = Math.min(root1, root2);
+            int larger = Math.max(root1, root2);
+            if (this.casParent(larger, larger, smaller)) {
+                this.numSets.decrementAndGet();
+                // 'larger' is no longer a root, so no one can add to its size now
+                // without seeing that and handing the amount on themselves
+                this.addSize(smaller, this.sizeChunkOf(larger).getAndSet(larger & CHUNK_MASK, 0));
+                return;
+            }
+            // 'larger' stopped being a root under us; look again
+        }
+    }
+
+    /*
+     * add the amount to the size of the given node, handing it on up the tree
+     * for as long as the node it landed on is no longer a root
+     */
+    private void addSize(int index, int amount) {
+        while (amount != 0) {
+            this.sizeChunkOf(index).addAndGet(index & CHUNK_MASK, amount);
+            if (this.getParent(index) == index) {
+                return;
+            }
+            // whoever linked 'index' may or may not have collected this already
+            amount = this.sizeChunkOf(index).getAndSet(index & CHUNK_MASK, 0);
+            index = this.findRoot(index);
+        }
+    }
+
+    @Override
+    public int numSets() {
+        return this.numSets.get();
+    }
+
+    @Override
+    public int sizeOfSet(T item) {
+        int index = this.indexOf(item);
+        while (true) {
+            int root = this.findRoot(index);
+            int size = this.sizeChunkOf(root).get(root & CHUNK_MASK);
+            // a zero means the root was just linked and handed its size on
+            if (size > 0) {
+                return size;
+            }
+        }
+    }
+
+    @Override
+    public IList<T> membersOfSet(T item) {
+        int root = this.findSet(item);
+        IList<T> result = new DoubleLinkedList<>();
+        for (KVPair<T, Integer> pair : this.indices) {
+            if (this.findRoot(pair.getValue()) == root) {
+                result.add(pair.getKey());
+            }
+        }
+        return result;
+    }
+}
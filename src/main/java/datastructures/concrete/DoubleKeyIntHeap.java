@@ -0,0 +1,285 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IIndexedPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A 4-heap of int values ordered by primitive double keys.
+ *
+ * Unlike ArrayHeap, this heap never calls compareTo and never allocates an
+ * object per entry: keys and values live in two parallel arrays, and keys are
+ * compared with '<' directly. Values must be ints in [0, capacity), which
+ * lets the heap also keep an array from every value to its current slot, so
+ * contains, decreaseKey and remove run without searching.
+ *
+ * This is meant for the hot loops of graph algorithms, where values are dense
+ * vertex or edge ids and keys are distances or weights.
+ */
+public class DoubleKeyIntHeap implements IIndexedPriorityQueue {
+    private static final int NUM_CHILDREN = 4;
+    // slot of a value that is not in the heap
+    private static final int ABSENT = -1;
+
+    private double[] keys;
+    private int[] values;
+    // positions[value] is the slot holding that value, or ABSENT
+    private int[] positions;
+    private int heapSize;
+
+    /**
+     * Constructs an empty heap that accepts the values 0 through capacity - 1.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public DoubleKeyIntHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative");
+        }
+        this.keys = new double[capacity];
+        this.values = new int[capacity];
+        this.positions = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.positions[i] = ABSENT;
+        }
+        this.heapSize = 0;
+    }
+
+    /**
+     * Constructs a heap that holds every value 0 through keys.length - 1, where
+     * value i has key keys[i]. The heap is ordered bottom-up in O(n) time.
+     *
+     * @throws IllegalArgumentException  if any key is NaN
+     */
+    public DoubleKeyIntHeap(double[] keys) {
+        this(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (Double.isNaN(keys[i])) {
+                throw new IllegalArgumentException("key cannot be NaN");
+            }
+            this.place(i, i, keys[i]);
+        }
+        this.heapSize = keys.length;
+        // the last entry's parent is the last slot that has any children
+        for (int slot = (this.heapSize - 2) / NUM_CHILDREN; slot >= 0 && this.heapSize > 1; slot--) {
+            this.siftDown(slot, this.values[slot], this.keys[slot]);
+        }
+    }
+
+    /*
+     * throw if the value can never be stored in this heap
+     */
+    private void checkRange(int value) {
+        if (value < 0 || value >= this.positions.length) {
+            throw new IllegalArgumentException("value is out of range");
+        }
+    }
+
+    /*
+     * store the given entry at the given slot and record where it went
+     */
+    private void place(int slot, int value, double key) {
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.positions[value] = slot;
+    }
+
+    /*
+     * move the entry up from the given slot until its parent is no larger
+     */
+    private void siftUp(int slot, int value, double key) {
+        while (slot > 0) {
+            int parent = (slot - 1) / NUM_CHILDREN;
+            if (this.keys[parent] <= key) {
+                break;
+            }
+            this.place(slot, this.values[parent], this.keys[parent]);
+            slot = parent;
+        }
+        this.place(slot, value, key);
+    }
+
+    /*
+     * move the entry down from the given slot until no child is smaller
+     */
+    private void siftDown(int slot, int value, double key) {
+        while (true) {
+            int first = slot * NUM_CHILDREN + 1;
+            if (first >= this.heapSize) {
+                break;
+            }
+            int last = Math.min(first + NUM_CHILDREN, this.heapSize);
+            int minSlot = first;
+            for (int i = first + 1; i < last; i++) {
+                if (this.keys[i] < this.keys[minSlot]) {
+                    minSlot = i;
+                }
+            }
+            if (this.keys[minSlot] >= key) {
+                break;
+            }
+            this.place(slot, this.values[minSlot], this.keys[minSlot]);
+            slot = minSlot;
+        }
+        this.place(slot, value, key);
+    }
+
+    /**
+     * Inserts the given value with the given key.
+     *
+     * @throws IllegalArgumentException  if the value is out of range or already in the heap
+     * @throws IllegalArgumentException  if the key is NaN
+     */
+    @Override
+    public void insert(int value, double key) {
+        this.checkRange(value);
+        if (this.positions[value] != ABSENT) {
+            throw new IllegalArgumentException("value is already in the heap");
+        }
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("key cannot be NaN");
+        }
+        this.heapSize++;
+        this.siftUp(this.heapSize - 1, value, key);
+    }
+
+    /**
+     * Lowers the key of a value already in the heap.
+     *
+     * @throws NoSuchElementException    if the value is not in the heap
+     * @throws IllegalArgumentException  if the new key is larger than the current key
+     */
+    @Override
+    public void decreaseKey(int value, double key) {
+        this.checkRange(value);
+        int slot = this.positions[value];
+        if (slot == ABSENT) {
+            throw new NoSuchElementException("value is not in the heap");
+        }
+        if (!(key <= this.keys[slot])) {
+            throw new IllegalArgumentException("new key is larger than the old one");
+        }
+        this.siftUp(slot, value, key);
+    }
+
+    /**
+     * Returns 'true' if the given value is currently in the heap, 'false' otherwise.
+     */
+    @Override
+    public boolean contains(int value) {
+        return value >= 0 && value < this.positions.length && this.positions[value] != ABSENT;
+    }
+
+    /**
+     * Returns the current key of the given value.
+     *
+     * @throws NoSuchElementException  if the value is not in the heap
+     */
+    @Override
+    public double keyOf(int value) {
+        if (!this.contains(value)) {
+            throw new NoSuchElementException("value is not in the heap");
+        }
+        return this.keys[this.positions[value]];
+    }
+
+    /**
+     * Removes and returns the value with the smallest key.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    @Override
+    public int removeMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException("This heap is empty");
+        }
+        int result = this.values[0];
+        this.positions[result] = ABSENT;
+        this.heapSize--;
+        if (this.heapSize > 0) {
+            this.siftDown(0, this.values[this.heapSize], this.keys[this.heapSize]);
+        }
+        return result;
+    }
+
+    /**
+     * Removes the given value, wherever it is in the heap, and returns its key.
+     *
+     * @throws NoSuchElementException  if the value is not in the heap
+     */
+    @Override
+    public double remove(int value) {
+        if (!this.contains(value)) {
+            throw new NoSuchElementException("value is not in the heap");
+        }
+        int slot = this.positions[value];
+        double key = this.keys[slot];
+        this.positions[value] = ABSENT;
+        this.heapSize--;
+        if (slot < this.heapSize) {
+            // fill the hole with the last entry, which may belong above or below it
+            int lastValue = this.values[this.heapSize];
+            double lastKey = this.keys[this.heapSize];
+            if (slot > 0 && lastKey < this.keys[(slot - 1) / NUM_CHILDREN]) {
+                this.siftUp(slot, lastValue, lastKey);
+            } else {
+                this.siftDown(slot, lastValue, lastKey);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Returns, but does not remove, the value with the smallest key.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    @Override
+    public int peekMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException("This heap is empty");
+        }
+        return this.values[0];
+    }
+
+    /**
+     * Returns the smallest key in the heap.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    @Override
+    public double peekMinKey() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException("This heap is empty");
+        }
+        return this.keys[0];
+    }
+
+    /**
+     * Removes every value from the heap. Runs in time proportional to the
+     * current size, not the capacity, so a heap can be reused cheaply.
+     */
+    public void clear() {
+        for (int i = 0; i < this.heapSize; i++) {
+            this.positions[this.values[i]] = ABSENT;
+        }
+        this.heapSize = 0;
+    }
+
+    /**
+     * Returns the number of values stored in the heap.
+     */
+    @Override
+    public int size() {
+        return this.heapSize;
+    }
+
+    /**
+     * Returns 'true' if the heap is empty, 'false' otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.heapSize == 0;
+    }
+}
@@ -0,0 +1,201 @@
+package datastructures.concrete;
+
+/**
+ * A disjoint set over the ints 0 through size() - 1.
+ *
+ * This is the core ArrayDisjointSet is built on; callers whose items already
+ * have dense int ids, such as graph algorithms working on vertex ids, can
+ * use it directly and skip hashing the items altogether.
+ *
+ * Sets are merged by size, so trees stay O(log n) deep even before any path
+ * is compressed, and find halves the path it walks (each node on it is
+ * pointed at its grandparent). Both are loops, never recursion, so no chain
+ * can overflow the stack.
+ *
+ * The number of sets and the size of each set are kept up to date as sets
+ * are merged, and the items of each set are linked into a ring, so all of
+ * them can be listed in time proportional to the size of the set.
+ */
+public class IntDisjointSet {
+    private static final int INIT_LENGTH = 10;
+
+    // pointers[i] is the parent of i, or -(number of items in i's set) if i is a root
+    private int[] pointers;
+    // next[i] is the item after i in the ring of i's set
+    private int[] next;
+    private int size;
+    private int numSets;
+
+    /**
+     * Constructs an empty disjoint set.
+     */
+    public IntDisjointSet() {
+        this.pointers = new int[INIT_LENGTH];
+        this.next = new int[INIT_LENGTH];
+        this.size = 0;
+        this.numSets = 0;
+    }
+
+    /**
+     * Constructs a disjoint set holding the items 0 through size - 1, each in
+     * a set of its own.
+     *
+     * @throws IllegalArgumentException  if size is negative
+     */
+    public IntDisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size cannot be negative");
+        }
+        this.pointers = new int[Math.max(size, INIT_LENGTH)];
+        this.next = new int[this.pointers.length];
+        for (int i = 0; i < size; i++) {
+            this.pointers[i] = -1;
+            this.next[i] = i;
+        }
+        this.size = size;
+        this.numSets = size;
+    }
+
+    /**
+     * Adds a new item in a set of its own, and returns it: the first call
+     * returns size() as it was before the call.
+     */
+    public int add() {
+        if (this.size == this.pointers.length) {
+            this.pointers = copyOf(this.pointers, this.size * 2);
+            this.next = copyOf(this.next, this.size * 2);
+        }
+        this.pointers[this.size] = -1;
+        this.next[this.size] = this.size;
+        this.size++;
+        this.numSets++;
+        return this.size - 1;
+    }
+
+    /**
+     * Returns the number of items.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /*
+     * return the array backing this set; only add() replaces it, so it must be
+     * fetched again after every call to add()
+     */
+    int[] pointers() {
+        return this.pointers;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int numSets() {
+        return this.numSets;
+    }
+
+    private void checkRange(int item) {
+        if (item < 0 || item >= this.size) {
+            throw new IllegalArgumentException("Not in the Set");
+        }
+    }
+
+    /**
+     * Returns the representative of the item's set.
+     *
+     * @throws IllegalArgumentException  if the item is not in [0, size())
+     */
+    public int find(int item) {
+        this.checkRange(item);
+        while (this.pointers[item] >= 0) {
+            int parent = this.pointers[item];
+            int grandparent = this.pointers[parent];
+            if (grandparent < 0) {
+                return parent;
+            }
+            this.pointers[item] = grandparent;
+            item = grandparent;
+        }
+        return item;
+    }
+
+    /**
+     * Merges the sets of the two items. The representative of the larger set
+     * (of item1's, if they are the same size) becomes that of the merged one.
+     *
+     * Returns 'true' if the sets were merged, 'false' if the items were
+     * already in the same set.
+     *
+     * @throws IllegalArgumentException  if either item is not in [0, size())
+     */
+    public boolean union(int item1, int item2) {
+        int root1 = this.find(item1);
+        int root2 = this.find(item2);
+        if (root1 == root2) {
+            return false;
+        }
+        // sizes are stored negated, so the more negative one is larger
+        if (this.pointers[root2] < this.pointers[root1]) {
+            int temp = root1;
+            root1 = root2;
+            root2 = temp;
+        }
+        this.pointers[root1] += this.pointers[root2];
+        this.pointers[root2] = root1;
+        // swapping the successors of one item from each ring joins the two rings
+        int temp = this.next[root1];
+        this.next[root1] = this.next[root2];
+        this.next[root2] = temp;
+        this.numSets--;
+        return true;
+    }
+
+    /**
+     * Returns the number of items in the item's set.
+     *
+     * @throws IllegalArgumentException  if the item is not in [0, size())
+     */
+    public int sizeOfSet(int item) {
+        return -this.pointers[this.find(item)];
+    }
+
+    /**
+     * Returns the item after the given one in the ring of its set. Starting
+     * from any item and following nextInSet until getting back to it visits
+     * every item of the set exactly once.
+     *
+     * @throws IllegalArgumentException  if the item is not in [0, size())
+     */
+    public int nextInSet(int item) {
+        this.checkRange(item);
+        return this.next[item];
+    }
+
+    /**
+     * Merges the sets of items1[i] and items2[i] for every i, in order, and
+     * returns how many of those pairs were not already in the same set.
+     *
+     * @throws IllegalArgumentException  if the arrays differ in length, or if any
+     *                                   item is not in [0, size())
+     */
+    public int unionAll(int[] items1, int[] items2) {
+        if (items1.length != items2.length) {
+            throw new IllegalArgumentException("arrays must have the same length");
+        }
+        int merged = 0;
+        for (int i = 0; i < items1.length; i++) {
+            if (this.union(items1[i], items2[i])) {
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] temp = new int[length];
+        for (int i = 0; i < array.length; i++) {
+            temp[i] = array[i];
+        }
+        return temp;
+    }
+}
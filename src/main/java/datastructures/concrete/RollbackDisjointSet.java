@@ -0,0 +1,243 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.IList;
+
+/**
+ * A disjoint set whose changes can be undone: checkpoint() remembers the
+ * current state, and rollback() returns to the most recent remembered state
+ * in time proportional to the number of makeSet and union calls since.
+ *
+ * This makes what-if experiments cheap, such as tentatively removing some
+ * walls of a maze, measuring the result, and then putting them back, without
+ * rebuilding the whole set each time.
+ *
+ * To make each union a single pointer write that is easy to undo, sets are
+ * merged by rank and findSet does NOT compress paths; merging by rank alone
+ * still keeps every tree O(log n) deep. Set sizes and the ring linking the
+ * items of each set (as in IntDisjointSet) are updated by union in ways that
+ * are just as easy to reverse.
+ *
+ * See IDisjointSet for more details.
+ */
+public class RollbackDisjointSet<T> implements IDisjointSet<T> {
+    private static final int INIT_LENGTH = 10;
+
+    private ObjectIntDictionary<T> data;
+    private T[] items;
+    // parents[i] is the parent of item i, or i itself if it is a root
+    private int[] parents;
+    private int[] ranks;
+    // sizes[i] is the number of items in i's set if i is a root
+    private int[] sizes;
+    // next[i] is the item after i in the ring of i's set
+    private int[] next;
+    private int size;
+    private int numSets;
+
+    // One entry per union since the first open checkpoint: the root that was
+    // linked under the other one, or ~root if the other one's rank went up.
+    private int[] history;
+    private int historySize;
+
+    // for each open checkpoint, the history size and item count at the time
+    private int[] checkpoints;
+    private int numCheckpoints;
+
+    @SuppressWarnings("unchecked")
+    public RollbackDisjointSet() {
+        this.data = new ObjectIntDictionary<>();
+        this.items = (T[]) new Object[INIT_LENGTH];
+        this.parents = new int[INIT_LENGTH];
+        this.ranks = new int[INIT_LENGTH];
+        this.sizes = new int[INIT_LENGTH];
+        this.next = new int[INIT_LENGTH];
+        this.size = 0;
+        this.numSets = 0;
+        this.history = new int[INIT_LENGTH];
+        this.historySize = 0;
+        this.checkpoints = new int[INIT_LENGTH];
+        this.numCheckpoints = 0;
+    }
+
+    @Override
+    public void makeSet(T item) {
+        if (this.data.containsKey(item)) {
+            throw new IllegalArgumentException("Already in the Set");
+        }
+        if (this.size == this.parents.length) {
+            this.items = copyOf(this.items, 2 * this.size);
+            this.parents = copyOf(this.parents, 2 * this.size);
+            this.ranks = copyOf(this.ranks, 2 * this.size);
+            this.sizes = copyOf(this.sizes, 2 * this.size);
+            this.next = copyOf(this.next, 2 * this.size);
+        }
+        this.data.put(item, this.size);
+        this.items[this.size] = item;
+        this.parents[this.size] = this.size;
+        this.ranks[this.size] = 0;
+        this.sizes[this.size] = 1;
+        this.next[this.size] = this.size;
+        this.size++;
+        this.numSets++;
+    }
+
+    private int indexOf(T item) {
+        int index = this.data.getOrDefault(item, -1);
+        if (index == -1) {
+            throw new IllegalArgumentException("Not in the Set");
+        }
+        return index;
+    }
+
+    private int findRoot(int index) {
+        while (this.parents[index] != index) {
+            index = this.parents[index];
+        }
+        return index;
+    }
+
+    @Override
+    public int findSet(T item) {
+        return this.findRoot(this.indexOf(item));
+    }
+
+    @Override
+    public void union(T item1, T item2) {
+        int root1 = this.findRoot(this.indexOf(item1));
+        int root2 = this.findRoot(this.indexOf(item2));
+        if (root1 == root2) {
+            throw new IllegalArgumentException("in the same set");
+        }
+        // ties go to item1's root
+        if (this.ranks[root1] < this.ranks[root2]) {
+            int temp = root1;
+            root1 = root2;
+            root2 = temp;
+        }
+        this.parents[root2] = root1;
+        boolean bumped = this.ranks[root1] == this.ranks[root2];
+        if (bumped) {
+            this.ranks[root1]++;
+        }
+        this.sizes[root1] += this.sizes[root2];
+        this.swapNext(root1, root2);
+        this.numSets--;
+        // with no checkpoint open there is nothing to roll back to
+        if (this.numCheckpoints > 0) {
+            if (this.historySize == this.history.length) {
+                this.history = copyOf(this.history, 2 * this.historySize);
+            }
+            this.history[this.historySize] = bumped ? ~root2 : root2;
+            this.historySize++;
+        }
+    }
+
+    /**
+     * Remembers the current state, so that a later rollback() can return to it.
+     * Checkpoints nest: each rollback() returns to the most recent checkpoint
+     * that has not been rolled back yet.
+     */
+    public void checkpoint() {
+        if (2 * this.numCheckpoints == this.checkpoints.length) {
+            this.checkpoints = copyOf(this.checkpoints, 2 * this.checkpoints.length);
+        }
+        this.checkpoints[2 * this.numCheckpoints] = this.historySize;
+        this.checkpoints[2 * this.numCheckpoints + 1] = this.size;
+        this.numCheckpoints++;
+    }
+
+    /**
+     * Undoes every union and makeSet since the most recent checkpoint, and
+     * forgets that checkpoint.
+     *
+     * @throws IllegalStateException  if there is no checkpoint to roll back to
+     */
+    public void rollback() {
+        if (this.numCheckpoints == 0) {
+            throw new IllegalStateException("no checkpoint to roll back to");
+        }
+        this.numCheckpoints--;
+        int savedHistory = this.checkpoints[2 * this.numCheckpoints];
+        int savedSize = this.checkpoints[2 * this.numCheckpoints + 1];
+        // undo in reverse order, so every root is unlinked from the parent it had
+        while (this.historySize > savedHistory) {
+            this.historySize--;
+            int entry = this.history[this.historySize];
+            int child = entry < 0 ? ~entry : entry;
+            int parent = this.parents[child];
+            if (entry < 0) {
+                this.ranks[parent]--;
+            }
+            this.parents[child] = child;
+            this.sizes[parent] -= this.sizes[child];
+            // swapping the same two successors again splits the rings back apart
+            this.swapNext(parent, child);
+            this.numSets++;
+        }
+        // items added since are singletons again, so they can simply be dropped
+        while (this.size > savedSize) {
+            this.size--;
+            this.data.remove(this.items[this.size]);
+            this.items[this.size] = null;
+            this.numSets--;
+        }
+    }
+
+    /**
+     * Returns the number of checkpoints that have not been rolled back yet.
+     */
+    public int numCheckpoints() {
+        return this.numCheckpoints;
+    }
+
+    /*
+     * swap the successors of the two items, which joins their rings if they
+     * are in different rings and splits their ring otherwise
+     */
+    private void swapNext(int item1, int item2) {
+        int temp = this.next[item1];
+        this.next[item1] = this.next[item2];
+        this.next[item2] = temp;
+    }
+
+    @Override
+    public int numSets() {
+        return this.numSets;
+    }
+
+    @Override
+    public int sizeOfSet(T item) {
+        return this.sizes[this.findSet(item)];
+    }
+
+    @Override
+    public IList<T> membersOfSet(T item) {
+        int start = this.indexOf(item);
+        IList<T> result = new DoubleLinkedList<>();
+        int index = start;
+        do {
+            result.add(this.items[index]);
+            index = this.next[index];
+        } while (index != start);
+        return result;
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] temp = new int[length];
+        for (int i = 0; i < array.length; i++) {
+            temp[i] = array[i];
+        }
+        return temp;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] copyOf(T[] array, int length) {
+        T[] temp = (T[]) new Object[length];
+        for (int i = 0; i < array.length; i++) {
+            temp[i] = array[i];
+        }
+        return temp;
+    }
+}
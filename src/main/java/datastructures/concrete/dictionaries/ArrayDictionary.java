@@ -2,9 +2,11 @@ package datastructures.concrete.dictionaries;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 import datastructures.concrete.KVPair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import misc.exceptions.NoSuchKeyException;
 
 
@@ -156,6 +158,71 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     public Iterator<KVPair<K, V>> iterator() {
         return new ArrayDictionaryIterator<>(this.pairs);
     }
+
+    /*
+     * return a cursor that walks the pairs array in place
+     * @see datastructures.interfaces.IDictionary#cursor()
+     */
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        return new ArrayDictionaryCursor<K, V>().reset(this);
+    }
+
+    /*
+     * call the action on every pair without allocating
+     * @see datastructures.interfaces.IDictionary#forEach(java.util.function.BiConsumer)
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.pairs[i].key, this.pairs[i].value);
+        }
+    }
+
+    /*
+     * walks the pairs array in place. Package-private so that ChainedHashDictionary
+     * can re-point a single cursor at each of its chains in turn.
+     */
+    static class ArrayDictionaryCursor<K, V> implements IDictionaryCursor<K, V> {
+        private Pair<K, V>[] pairs;
+        private int size;
+        private int index;
+
+        /*
+         * position this cursor before the first pair of the given dictionary
+         */
+        ArrayDictionaryCursor<K, V> reset(ArrayDictionary<K, V> dict) {
+            this.pairs = dict.pairs;
+            this.size = dict.size;
+            this.index = -1;
+            return this;
+        }
+
+        @Override
+        public boolean advance() {
+            if (this.index < this.size) {
+                this.index++;
+            }
+            return this.index < this.size;
+        }
+
+        private Pair<K, V> current() {
+            if (this.index < 0 || this.index >= this.size) {
+                throw new IllegalStateException("cursor is not on a pair");
+            }
+            return this.pairs[this.index];
+        }
+
+        @Override
+        public K key() {
+            return this.current().key;
+        }
+
+        @Override
+        public V value() {
+            return this.current().value;
+        }
+    }
     
     private static class ArrayDictionaryIterator<K, V> implements Iterator<KVPair<K, V>> {
         private Pair<K, V>[] current;
@@ -2,26 +2,53 @@ package datastructures.concrete.dictionaries;
 
 import datastructures.concrete.KVPair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * See the spec and IDictionary for more details on what each method should do
+ *
+ * By default the table is rehashed in one go when it becomes half full. A
+ * dictionary constructed in incremental-resize mode instead keeps the old
+ * and new tables alive together and moves at most MIGRATE_STEP buckets on
+ * every get/put/remove, so no single operation pays for the whole rehash.
  */
 public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     // You may not change or rename this field: we will be inspecting
     // it using our private tests.
     private IDictionary<K, V>[] chains;
     private static final int INIT_SIZE = 10;
+    private static final int MIGRATE_STEP = 4;
     private int length;
+
+    // Incremental-resize state. While a resize is in progress, 'chains' is the
+    // new table and 'oldChains' the table being drained. Invariant: a key whose
+    // bucket in oldChains is >= migrateIndex lives in oldChains; every other key
+    // lives in chains. oldChains is null whenever no resize is in progress.
+    private boolean incremental;
+    private IDictionary<K, V>[] oldChains;
+    private int migrateIndex;
     
     // You're encouraged to add extra fields (and helper methods) though!
 
     public ChainedHashDictionary() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty dictionary. If 'incrementalResize' is true, rehashing
+     * is spread across subsequent operations instead of done all at once.
+     */
+    public ChainedHashDictionary(boolean incrementalResize) {
         this.chains = this.makeArrayOfChains(INIT_SIZE);
         this.length = 0;
+        this.incremental = incrementalResize;
+        this.oldChains = null;
+        this.migrateIndex = 0;
     }
 
     /**
@@ -49,6 +76,76 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
         }
     }
 
+    /*
+     * return the table that currently owns the given key's bucket
+     */
+    private IDictionary<K, V>[] tableFor(K key) {
+        if (this.oldChains != null && this.getIndex(key, this.oldChains.length) >= this.migrateIndex) {
+            return this.oldChains;
+        }
+        return this.chains;
+    }
+
+    /*
+     * move up to 'steps' buckets from the old table into the new one
+     */
+    private void migrate(int steps) {
+        for (int i = 0; i < steps && this.oldChains != null; i++) {
+            IDictionary<K, V> chain = this.oldChains[this.migrateIndex];
+            if (chain != null) {
+                this.moveChain(chain, this.chains);
+                this.oldChains[this.migrateIndex] = null;
+            }
+            this.migrateIndex++;
+            if (this.migrateIndex == this.oldChains.length) {
+                this.oldChains = null;
+                this.migrateIndex = 0;
+            }
+        }
+    }
+
+    /*
+     * finish any resize in progress
+     */
+    private void finishMigration() {
+        if (this.oldChains != null) {
+            this.migrate(this.oldChains.length - this.migrateIndex);
+        }
+    }
+
+    /*
+     * rehash every pair in the given chain into the given table
+     */
+    private void moveChain(IDictionary<K, V> chain, IDictionary<K, V>[] table) {
+        chain.forEach((newKey, newValue) -> {
+            int index = this.getIndex(newKey, table.length);
+            if (table[index] == null) {
+                table[index] = new ArrayDictionary<K, V>();
+            }
+            table[index].put(newKey, newValue);
+        });
+    }
+
+    /*
+     * double the table, either all at once or by starting an incremental migration
+     */
+    private void resize() {
+        IDictionary<K, V>[] temp = this.makeArrayOfChains(this.chains.length * 2);
+        if (this.incremental) {
+            this.oldChains = this.chains;
+            this.migrateIndex = 0;
+            this.chains = temp;
+            this.migrate(MIGRATE_STEP);
+        } else {
+            for (int i = 0; i < this.chains.length; i++) {
+                if (this.chains[i] != null) {
+                    this.moveChain(this.chains[i], temp);
+                }
+            }
+            this.chains = temp;
+        }
+    }
+
     /*
      * return the given key's paired value
      * @see datastructures.interfaces.IDictionary#get(java.lang.Object)
@@ -56,11 +153,13 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public V get(K key) {
-        if (!this.containsKey(key)) {
+        this.migrate(MIGRATE_STEP);
+        IDictionary<K, V>[] table = this.tableFor(key);
+        IDictionary<K, V> chain = table[this.getIndex(key, table.length)];
+        if (chain == null) {
             throw new NoSuchKeyException("there is no key");
         }
-        int index = this.getIndex(key, this.chains.length);
-        return this.chains[index].get(key);
+        return chain.get(key);
     }
 
     /*
@@ -70,31 +169,21 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public void put(K key, V value) {
+        this.migrate(MIGRATE_STEP);
         if (this.length >= this.chains.length / 2) {
-            IDictionary<K, V>[] temp = this.makeArrayOfChains(this.chains.length * 2);
-            for (int i = 0; i < this.chains.length; i++) {
-                if (this.chains[i] != null) {
-                    for (KVPair<K, V> tempPair : this.chains[i]) {
-                        K newKey = tempPair.getKey();
-                        V newValue = tempPair.getValue();
-                        int index = this.getIndex(newKey, temp.length);                
-                        if (temp[index] == null) {
-                            temp[index] = new ArrayDictionary<K, V>();
-                        }
-                        temp[index].put(newKey, newValue);
-                    }
-                }
-            }
-            this.chains = temp;
+            // a migration only outlives the next threshold if removes and puts
+            // interleave unusually; drain it before starting another one
+            this.finishMigration();
+            this.resize();
         } 
-        int index = this.getIndex(key, this.chains.length);                
-        if (this.chains[index] == null) {
-            this.chains[index] = new ArrayDictionary<K, V>();
-            this.length++;
-        } else if (!this.chains[index].containsKey(key)) {
-            this.length++;
+        IDictionary<K, V>[] table = this.tableFor(key);
+        int index = this.getIndex(key, table.length);                
+        if (table[index] == null) {
+            table[index] = new ArrayDictionary<K, V>();
         }
-        this.chains[index].put(key, value); 
+        int before = table[index].size();
+        table[index].put(key, value); 
+        this.length += table[index].size() - before;
     }
 
     /*
@@ -105,13 +194,15 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public V remove(K key) {
-        if (!this.containsKey(key)) {
+        this.migrate(MIGRATE_STEP);
+        IDictionary<K, V>[] table = this.tableFor(key);
+        IDictionary<K, V> chain = table[this.getIndex(key, table.length)];
+        if (chain == null) {
             throw new NoSuchKeyException("there is no key");
         }
-        
-        int index = this.getIndex(key, this.chains.length);                
+        V result = chain.remove(key);
         this.length--;
-        return this.chains[index].remove(key);
+        return result;
     }
 
     /*
@@ -120,8 +211,9 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public boolean containsKey(K key) {
-        int index = this.getIndex(key, this.chains.length);  
-        return this.chains[index] != null && this.chains[index].containsKey(key);
+        IDictionary<K, V>[] table = this.tableFor(key);
+        IDictionary<K, V> chain = table[this.getIndex(key, table.length)];
+        return chain != null && chain.containsKey(key);
     }
 
     /*
@@ -139,10 +231,76 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public Iterator<KVPair<K, V>> iterator() {
-        // Note: you do not need to change this method
+        // iterating is O(n) anyway, so it also pays off any pending migration
+        this.finishMigration();
         return new ChainedIterator<>(this.chains);
     }
 
+    /*
+     * return a cursor that walks the chains in place
+     * @see datastructures.interfaces.IDictionary#cursor()
+     */
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        this.finishMigration();
+        return new ChainedCursor<>(this.chains);
+    }
+
+    /*
+     * call the action on every pair without allocating per pair
+     * @see datastructures.interfaces.IDictionary#forEach(java.util.function.BiConsumer)
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        this.finishMigration();
+        for (IDictionary<K, V> chain : this.chains) {
+            if (chain != null) {
+                chain.forEach(action);
+            }
+        }
+    }
+
+    /*
+     * moves a single ArrayDictionary cursor from chain to chain. Every chain is
+     * an ArrayDictionary, since this class is the only one that creates them.
+     */
+    private static class ChainedCursor<K, V> implements IDictionaryCursor<K, V> {
+        private IDictionary<K, V>[] chains;
+        private int index;
+        private ArrayDictionary.ArrayDictionaryCursor<K, V> chainCursor;
+
+        public ChainedCursor(IDictionary<K, V>[] chains) {
+            this.chains = chains;
+            this.index = -1;
+            this.chainCursor = new ArrayDictionary.ArrayDictionaryCursor<>();
+        }
+
+        @Override
+        public boolean advance() {
+            while (!this.chainCursor.advance()) {
+                do {
+                    this.index++;
+                } while (this.index < this.chains.length && this.chains[this.index] == null);
+                if (this.index >= this.chains.length) {
+                    this.index = this.chains.length;
+                    return false;
+                }
+                this.chainCursor.reset((ArrayDictionary<K, V>) this.chains[this.index]);
+            }
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return this.chainCursor.key();
+        }
+
+        @Override
+        public V value() {
+            return this.chainCursor.value();
+        }
+    }
+
     /**
      * Hints:
      *
@@ -0,0 +1,453 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, chained hash dictionary.
+ *
+ * The key space is split across a fixed number of stripes, picked from the
+ * high bits of each key's hash. Every stripe owns its own array of chains and
+ * its own lock, so writers only contend when they land in the same stripe,
+ * and a stripe that outgrows its table resizes it without stopping writers
+ * in any other stripe.
+ *
+ * Reads never lock. Chain nodes have final keys and next-pointers and are
+ * published through an AtomicReferenceArray, so a reader always sees either
+ * the chain before or after a concurrent write, never a half-built one.
+ * size() and iterator() are weakly consistent: they reflect some of the
+ * writes that happen concurrently with them, but never throw because of them.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class ConcurrentChainedHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int DEFAULT_STRIPES = 16;
+    private static final int INIT_SIZE = 16;
+
+    private final Stripe<K, V>[] stripes;
+    private final int stripeShift;
+
+    public ConcurrentChainedHashDictionary() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs an empty dictionary whose writes may proceed in parallel
+     * across roughly 'concurrencyLevel' threads.
+     *
+     * @throws IllegalArgumentException  if concurrencyLevel is not positive
+     */
+    public ConcurrentChainedHashDictionary(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrency level must be positive");
+        }
+        int numStripes = 1;
+        int bits = 0;
+        while (numStripes < concurrencyLevel && bits < 16) {
+            numStripes *= 2;
+            bits++;
+        }
+        this.stripes = makeArrayOfStripes(numStripes);
+        for (int i = 0; i < numStripes; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.stripeShift = 32 - bits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Stripe<K, V>[] makeArrayOfStripes(int size) {
+        return (Stripe<K, V>[]) new Stripe[size];
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private static boolean keysEqual(Object key1, Object key2) {
+        return key1 == key2 || (key1 != null && key1.equals(key2));
+    }
+
+    /*
+     * return the stripe responsible for the given hash, picked from its high bits
+     */
+    private Stripe<K, V> stripeFor(int hash) {
+        // shifting an int by 32 is a no-op in Java, so a single stripe is special-cased
+        return this.stripeShift == 32 ? this.stripes[0] : this.stripes[hash >>> this.stripeShift];
+    }
+
+    /*
+     * return the given key's paired value
+     * @throw NoSuchKeyException if there is no given key in the dictionary
+     * @see datastructures.interfaces.IDictionary#get(java.lang.Object)
+     */
+    @Override
+    public V get(K key) {
+        int hash = hash(key);
+        Node<K, V> node = this.stripeFor(hash).find(key, hash);
+        if (node == null) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        return node.value;
+    }
+
+    /*
+     * return the given key's paired value, or the default value if the key is absent
+     * @see datastructures.interfaces.IDictionary#getOrDefault(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int hash = hash(key);
+        Node<K, V> node = this.stripeFor(hash).find(key, hash);
+        return node == null ? defaultValue : node.value;
+    }
+
+    /*
+     * put key-value pair into the dictionary, replacing the value if the key exists
+     * @see datastructures.interfaces.IDictionary#put(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = this.stripeFor(hash);
+        synchronized (stripe) {
+            Node<K, V> node = stripe.find(key, hash);
+            if (node != null) {
+                node.value = value;
+            } else {
+                stripe.insert(key, hash, value);
+            }
+        }
+    }
+
+    /**
+     * Atomically associates the given value with the key if the key is absent.
+     *
+     * Returns the value already associated with the key, or null if the key was
+     * absent and the given value was inserted. (If the dictionary stores null
+     * values, use containsKey to tell the two cases apart.)
+     */
+    public V putIfAbsent(K key, V value) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = this.stripeFor(hash);
+        Node<K, V> node = stripe.find(key, hash);
+        if (node != null) {
+            return node.value; // fast path: no lock needed to observe an existing key
+        }
+        synchronized (stripe) {
+            node = stripe.find(key, hash);
+            if (node != null) {
+                return node.value;
+            }
+            stripe.insert(key, hash, value);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the value associated with the key. If the key is absent, atomically
+     * computes a value with the given function, inserts it, and returns it.
+     *
+     * The function is called at most once, while holding the key's stripe lock,
+     * so it should be short and must not touch this dictionary.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = this.stripeFor(hash);
+        Node<K, V> node = stripe.find(key, hash);
+        if (node != null) {
+            return node.value;
+        }
+        synchronized (stripe) {
+            node = stripe.find(key, hash);
+            if (node != null) {
+                return node.value;
+            }
+            V value = mappingFunction.apply(key);
+            stripe.insert(key, hash, value);
+            return value;
+        }
+    }
+
+    /**
+     * Atomically replaces the key's value with the result of the given function,
+     * which receives the key and its current value (or null if the key is absent).
+     * If the function returns null, the key is removed instead. Returns the new value.
+     *
+     * The function is called while holding the key's stripe lock, so it should be
+     * short and must not touch this dictionary.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = this.stripeFor(hash);
+        synchronized (stripe) {
+            Node<K, V> node = stripe.find(key, hash);
+            V value = remappingFunction.apply(key, node == null ? null : node.value);
+            if (value == null) {
+                if (node != null) {
+                    stripe.delete(key, hash);
+                }
+            } else if (node != null) {
+                node.value = value;
+            } else {
+                stripe.insert(key, hash, value);
+            }
+            return value;
+        }
+    }
+
+    /*
+     * remove the pair that matches given key and return its value
+     * @throw NoSuchKeyException if the dictionary has no given key
+     * @see datastructures.interfaces.IDictionary#remove(java.lang.Object)
+     */
+    @Override
+    public V remove(K key) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = this.stripeFor(hash);
+        synchronized (stripe) {
+            Node<K, V> node = stripe.find(key, hash);
+            if (node == null) {
+                throw new NoSuchKeyException("there is no key");
+            }
+            stripe.delete(key, hash);
+            return node.value;
+        }
+    }
+
+    /*
+     * return true if the dictionary has the given key; false otherwise
+     * @see datastructures.interfaces.IDictionary#containsKey(java.lang.Object)
+     */
+    @Override
+    public boolean containsKey(K key) {
+        int hash = hash(key);
+        return this.stripeFor(hash).find(key, hash) != null;
+    }
+
+    /*
+     * return the number of the pairs in the dictionary
+     * @see datastructures.interfaces.IDictionary#size()
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (Stripe<K, V> stripe : this.stripes) {
+            total += stripe.count;
+        }
+        return total;
+    }
+
+    /*
+     * return a weakly consistent iterator of the dictionary
+     * @see datastructures.interfaces.IDictionary#iterator()
+     */
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new ConcurrentIterator<>(this.stripes);
+    }
+
+    /*
+     * return a weakly consistent cursor that walks the chain nodes in place
+     * @see datastructures.interfaces.IDictionary#cursor()
+     */
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        return new ConcurrentCursor<>(this.stripes);
+    }
+
+    /*
+     * a single entry of a chain; only 'value' may change once published
+     */
+    private static class Node<K, V> {
+        public final K key;
+        public final int hash;
+        public final Node<K, V> next;
+        public volatile V value;
+
+        public Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /*
+     * one independently locked and independently resized slice of the dictionary;
+     * the stripe's own monitor guards every write
+     */
+    private static class Stripe<K, V> {
+        public volatile AtomicReferenceArray<Node<K, V>> table;
+        public volatile int count;
+
+        public Stripe() {
+            this.table = new AtomicReferenceArray<>(INIT_SIZE);
+            this.count = 0;
+        }
+
+        /*
+         * lock-free lookup; returns null if the key is absent
+         */
+        public Node<K, V> find(K key, int hash) {
+            AtomicReferenceArray<Node<K, V>> current = this.table;
+            Node<K, V> node = current.get(hash & (current.length() - 1));
+            while (node != null) {
+                if (node.hash == hash && keysEqual(node.key, key)) {
+                    return node;
+                }
+                node = node.next;
+            }
+            return null;
+        }
+
+        /*
+         * add a key known to be absent; caller must hold the stripe lock
+         */
+        public void insert(K key, int hash, V value) {
+            if (this.count >= this.table.length() * 3 / 4) {
+                this.resize();
+            }
+            AtomicReferenceArray<Node<K, V>> current = this.table;
+            int index = hash & (current.length() - 1);
+            current.set(index, new Node<>(key, hash, value, current.get(index)));
+            this.count++;
+        }
+
+        /*
+         * unlink a key known to be present; caller must hold the stripe lock.
+         * The nodes before it are copied so that readers already walking the
+         * chain still see a consistent list.
+         */
+        public void delete(K key, int hash) {
+            AtomicReferenceArray<Node<K, V>> current = this.table;
+            int index = hash & (current.length() - 1);
+            Node<K, V> head = current.get(index);
+            Node<K, V> target = head;
+            while (!(target.hash == hash && keysEqual(target.key, key))) {
+                target = target.next;
+            }
+            Node<K, V> newHead = target.next;
+            for (Node<K, V> node = head; node != target; node = node.next) {
+                newHead = new Node<>(node.key, node.hash, node.value, newHead);
+            }
+            current.set(index, newHead);
+            this.count--;
+        }
+
+        /*
+         * double this stripe's table; caller must hold the stripe lock. Readers
+         * keep using the old table, which is never modified, until the new one
+         * is published.
+         */
+        private void resize() {
+            AtomicReferenceArray<Node<K, V>> old = this.table;
+            AtomicReferenceArray<Node<K, V>> temp = new AtomicReferenceArray<>(old.length() * 2);
+            int mask = temp.length() - 1;
+            for (int i = 0; i < old.length(); i++) {
+                for (Node<K, V> node = old.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    temp.set(index, new Node<>(node.key, node.hash, node.value, temp.get(index)));
+                }
+            }
+            this.table = temp;
+        }
+    }
+
+    /*
+     * walks every node of every stripe; the iterator below is built on it
+     */
+    private static class ConcurrentCursor<K, V> implements IDictionaryCursor<K, V> {
+        private Stripe<K, V>[] stripes;
+        private int stripeIndex;
+        private AtomicReferenceArray<Node<K, V>> table;
+        private int bucketIndex;
+        private Node<K, V> current;
+        private boolean done;
+
+        public ConcurrentCursor(Stripe<K, V>[] stripes) {
+            this.stripes = stripes;
+            this.stripeIndex = 0;
+            this.table = stripes[0].table;
+            this.bucketIndex = -1;
+            this.current = null;
+            this.done = false;
+        }
+
+        /*
+         * move to the following node, crossing buckets and stripes as needed
+         */
+        @Override
+        public boolean advance() {
+            if (this.current != null) {
+                this.current = this.current.next;
+            }
+            while (this.current == null && !this.done) {
+                this.bucketIndex++;
+                if (this.bucketIndex == this.table.length()) {
+                    this.stripeIndex++;
+                    if (this.stripeIndex == this.stripes.length) {
+                        this.done = true;
+                        break;
+                    }
+                    this.table = this.stripes[this.stripeIndex].table;
+                    this.bucketIndex = 0;
+                }
+                this.current = this.table.get(this.bucketIndex);
+            }
+            return this.current != null;
+        }
+
+        private Node<K, V> node() {
+            if (this.current == null) {
+                throw new IllegalStateException("cursor is not on a pair");
+            }
+            return this.current;
+        }
+
+        @Override
+        public K key() {
+            return this.node().key;
+        }
+
+        @Override
+        public V value() {
+            return this.node().value;
+        }
+    }
+
+    private static class ConcurrentIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private ConcurrentCursor<K, V> cursor;
+        private boolean hasNext;
+
+        public ConcurrentIterator(Stripe<K, V>[] stripes) {
+            this.cursor = new ConcurrentCursor<>(stripes);
+            this.hasNext = this.cursor.advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("Dictionary is empty");
+            }
+            KVPair<K, V> result = new KVPair<>(this.cursor.key(), this.cursor.value());
+            this.hasNext = this.cursor.advance();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * A dictionary from primitive int keys to primitive int values.
+ *
+ * This mirrors the IDictionary contract without boxing either side. Keys and
+ * values live in two int[] arrays, with a third array marking occupied slots,
+ * using open addressing with Robin Hood linear probing and backward-shift
+ * deletion (see RobinHoodHashDictionary).
+ */
+public class IntIntDictionary {
+    private static final int INIT_SIZE = 16;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public IntIntDictionary() {
+        this(INIT_SIZE);
+    }
+
+    /**
+     * Creates a dictionary that can hold the given number of keys without resizing.
+     */
+    public IntIntDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expected size cannot be negative");
+        }
+        int capacity = INIT_SIZE;
+        while (capacity * 4 < expectedSize * 5) {
+            capacity *= 2;
+        }
+        this.allocate(capacity);
+        this.size = 0;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private int home(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & this.mask;
+    }
+
+    private int probeDistance(int key, int slot) {
+        return (slot - this.home(key)) & this.mask;
+    }
+
+    private int findSlot(int key) {
+        int slot = this.home(key);
+        int distance = 0;
+        while (this.used[slot] && distance <= this.probeDistance(this.keys[slot], slot)) {
+            if (this.keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int get(int key) {
+        int slot = this.findSlot(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        return this.values[slot];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value
+     * if the key is absent.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        int slot = this.findSlot(key);
+        return slot == -1 ? defaultValue : this.values[slot];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists,
+     * replaces its value with the given one.
+     */
+    public void put(int key, int value) {
+        int slot = this.findSlot(key);
+        if (slot != -1) {
+            this.values[slot] = value;
+            return;
+        }
+        if ((this.size + 1) * 5 > this.keys.length * 4) {
+            this.resize(this.keys.length * 2);
+        }
+        this.insertNew(key, value);
+        this.size++;
+    }
+
+    private void insertNew(int key, int value) {
+        int slot = this.home(key);
+        int distance = 0;
+        while (this.used[slot]) {
+            int currentDistance = this.probeDistance(this.keys[slot], slot);
+            if (currentDistance < distance) {
+                int tempKey = this.keys[slot];
+                int tempValue = this.values[slot];
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                key = tempKey;
+                value = tempValue;
+                distance = currentDistance;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+        this.used[slot] = true;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        boolean[] oldUsed = this.used;
+        this.allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                this.insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes the given key from the dictionary and returns its value.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int remove(int key) {
+        int slot = this.findSlot(key);
+        if (slot == -1) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        int result = this.values[slot];
+        int next = (slot + 1) & this.mask;
+        while (this.used[next] && this.probeDistance(this.keys[next], next) != 0) {
+            this.keys[slot] = this.keys[next];
+            this.values[slot] = this.values[next];
+            slot = next;
+            next = (next + 1) & this.mask;
+        }
+        this.used[slot] = false;
+        this.size--;
+        return result;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(int key) {
+        return this.findSlot(key) != -1;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
@@ -0,0 +1,208 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * A dictionary from object keys to primitive int values.
+ *
+ * This mirrors the IDictionary contract, but stores values in an int[] so that
+ * no Integer is ever boxed. It is meant for indexing structures such as
+ * "vertex to dense id" maps, where the boxed IDictionary<K, Integer> would
+ * allocate on every put and unbox on every get.
+ *
+ * Entries are kept in flat parallel arrays using open addressing with
+ * Robin Hood linear probing and backward-shift deletion (see
+ * RobinHoodHashDictionary).
+ */
+public class ObjectIntDictionary<K> {
+    private static final int INIT_SIZE = 16;
+    private static final int EMPTY = 0;
+
+    private K[] keys;
+    private int[] values;
+    private int[] hashes;
+    private int mask;
+    private int size;
+
+    public ObjectIntDictionary() {
+        this(INIT_SIZE);
+    }
+
+    /**
+     * Creates a dictionary that can hold the given number of keys without resizing.
+     */
+    public ObjectIntDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expected size cannot be negative");
+        }
+        int capacity = INIT_SIZE;
+        while (capacity * 4 < expectedSize * 5) {
+            capacity *= 2;
+        }
+        this.allocate(capacity);
+        this.size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.keys = (K[]) new Object[capacity];
+        this.values = new int[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private int probeDistance(int hash, int slot) {
+        return (slot - (hash & this.mask)) & this.mask;
+    }
+
+    private int findSlot(K key, int hash) {
+        int slot = hash & this.mask;
+        int distance = 0;
+        while (true) {
+            int current = this.hashes[slot];
+            if (current == EMPTY || distance > this.probeDistance(current, slot)) {
+                return -1;
+            }
+            if (current == hash && (this.keys[slot] == key
+                    || (key != null && key.equals(this.keys[slot])))) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int get(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        return this.values[slot];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value
+     * if the key is absent.
+     */
+    public int getOrDefault(K key, int defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot == -1 ? defaultValue : this.values[slot];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists,
+     * replaces its value with the given one.
+     */
+    public void put(K key, int value) {
+        int hash = hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot != -1) {
+            this.values[slot] = value;
+            return;
+        }
+        if ((this.size + 1) * 5 > this.hashes.length * 4) {
+            this.resize(this.hashes.length * 2);
+        }
+        this.insertNew(key, value, hash);
+        this.size++;
+    }
+
+    private void insertNew(K key, int value, int hash) {
+        int slot = hash & this.mask;
+        int distance = 0;
+        while (true) {
+            int current = this.hashes[slot];
+            if (current == EMPTY) {
+                this.hashes[slot] = hash;
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                return;
+            }
+            int currentDistance = this.probeDistance(current, slot);
+            if (currentDistance < distance) {
+                K tempKey = this.keys[slot];
+                int tempValue = this.values[slot];
+                this.hashes[slot] = hash;
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                hash = current;
+                key = tempKey;
+                value = tempValue;
+                distance = currentDistance;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+    }
+
+    private void resize(int capacity) {
+        K[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        this.allocate(capacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                this.insertNew(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes the given key from the dictionary and returns its value.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int remove(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        int result = this.values[slot];
+        int next = (slot + 1) & this.mask;
+        while (this.hashes[next] != EMPTY && this.probeDistance(this.hashes[next], next) != 0) {
+            this.hashes[slot] = this.hashes[next];
+            this.keys[slot] = this.keys[next];
+            this.values[slot] = this.values[next];
+            slot = next;
+            next = (next + 1) & this.mask;
+        }
+        this.hashes[slot] = EMPTY;
+        this.keys[slot] = null;
+        this.size--;
+        return result;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) != -1;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
@@ -0,0 +1,335 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * An open-addressing alternative to ChainedHashDictionary.
+ *
+ * Keys, values and hashes are stored in three flat parallel arrays, so there
+ * are no per-entry objects and no per-bucket chains. Collisions are resolved
+ * with linear probing using the Robin Hood rule: an entry being inserted
+ * displaces any resident entry that is closer to its home slot. Removal uses
+ * backward-shift deletion, so the table never contains tombstones.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class RobinHoodHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int INIT_SIZE = 16;
+    // A slot whose hash is EMPTY holds no entry; real hashes are never EMPTY.
+    private static final int EMPTY = 0;
+
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int mask;
+    private int size;
+
+    public RobinHoodHashDictionary() {
+        this.allocate(INIT_SIZE);
+        this.size = 0;
+    }
+
+    /**
+     * Creates the backing arrays with the given capacity, which must be a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.keys = (K[]) new Object[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /*
+     * return the spread hash of the given key; never returns EMPTY
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h == EMPTY ? 1 : h;
+    }
+
+    /*
+     * return how far the entry with the given hash sits from its home slot
+     */
+    private int probeDistance(int hash, int slot) {
+        return (slot - (hash & this.mask)) & this.mask;
+    }
+
+    /*
+     * return the slot that holds the given key, or -1 if the key is absent
+     */
+    private int findSlot(K key, int hash) {
+        int slot = hash & this.mask;
+        int distance = 0;
+        while (true) {
+            int current = this.hashes[slot];
+            if (current == EMPTY || distance > this.probeDistance(current, slot)) {
+                // Robin Hood invariant: the key would have displaced this entry
+                return -1;
+            }
+            if (current == hash && (this.keys[slot] == key
+                    || (key != null && key.equals(this.keys[slot])))) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+    }
+
+    /*
+     * return the given key's paired value
+     * @throw NoSuchKeyException if there is no given key in the dictionary
+     * @see datastructures.interfaces.IDictionary#get(java.lang.Object)
+     */
+    @Override
+    public V get(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        return this.values[slot];
+    }
+
+    /*
+     * return the given key's paired value, or the default value if the key is absent
+     * @see datastructures.interfaces.IDictionary#getOrDefault(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot == -1 ? defaultValue : this.values[slot];
+    }
+
+    /*
+     * put key-value pair into the dictionary, replacing the value if the key exists
+     * @see datastructures.interfaces.IDictionary#put(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot != -1) {
+            this.values[slot] = value;
+            return;
+        }
+        // keep the load factor at or below 80%
+        if ((this.size + 1) * 5 > this.hashes.length * 4) {
+            this.resize(this.hashes.length * 2);
+        }
+        this.insertNew(key, value, hash);
+        this.size++;
+    }
+
+    /*
+     * insert a key known to be absent, displacing richer entries along the way
+     */
+    private void insertNew(K key, V value, int hash) {
+        int slot = hash & this.mask;
+        int distance = 0;
+        while (true) {
+            int current = this.hashes[slot];
+            if (current == EMPTY) {
+                this.hashes[slot] = hash;
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                return;
+            }
+            int currentDistance = this.probeDistance(current, slot);
+            if (currentDistance < distance) {
+                // swap with the resident entry and carry it forward instead
+                K tempKey = this.keys[slot];
+                V tempValue = this.values[slot];
+                this.hashes[slot] = hash;
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                hash = current;
+                key = tempKey;
+                value = tempValue;
+                distance = currentDistance;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+    }
+
+    private void resize(int capacity) {
+        K[] oldKeys = this.keys;
+        V[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        this.allocate(capacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                this.insertNew(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    /*
+     * remove the pair that matches given key and return its value
+     * @throw NoSuchKeyException if the dictionary has no given key
+     * @see datastructures.interfaces.IDictionary#remove(java.lang.Object)
+     */
+    @Override
+    public V remove(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException("there is no key");
+        }
+        V result = this.values[slot];
+
+        // backward-shift: pull every displaced successor one slot closer to home
+        int next = (slot + 1) & this.mask;
+        while (this.hashes[next] != EMPTY && this.probeDistance(this.hashes[next], next) != 0) {
+            this.hashes[slot] = this.hashes[next];
+            this.keys[slot] = this.keys[next];
+            this.values[slot] = this.values[next];
+            slot = next;
+            next = (next + 1) & this.mask;
+        }
+        this.hashes[slot] = EMPTY;
+        this.keys[slot] = null;
+        this.values[slot] = null;
+        this.size--;
+        return result;
+    }
+
+    /*
+     * return true if the dictionary has the given key; false otherwise
+     * @see datastructures.interfaces.IDictionary#containsKey(java.lang.Object)
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) != -1;
+    }
+
+    /*
+     * return the number of the pairs in the dictionary
+     * @see datastructures.interfaces.IDictionary#size()
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /*
+     * return iterator of the dictionary
+     * @see datastructures.interfaces.IDictionary#iterator()
+     */
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new RobinHoodIterator<>(this.keys, this.values, this.hashes);
+    }
+
+    /*
+     * return a cursor that walks the slot arrays in place
+     * @see datastructures.interfaces.IDictionary#cursor()
+     */
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        return new RobinHoodCursor<>(this.keys, this.values, this.hashes);
+    }
+
+    /*
+     * call the action on every pair without allocating
+     * @see datastructures.interfaces.IDictionary#forEach(java.util.function.BiConsumer)
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != EMPTY) {
+                action.accept(this.keys[i], this.values[i]);
+            }
+        }
+    }
+
+    private static class RobinHoodCursor<K, V> implements IDictionaryCursor<K, V> {
+        private K[] keys;
+        private V[] values;
+        private int[] hashes;
+        private int index;
+
+        public RobinHoodCursor(K[] keys, V[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.index = -1;
+        }
+
+        @Override
+        public boolean advance() {
+            do {
+                this.index++;
+            } while (this.index < this.hashes.length && this.hashes[this.index] == EMPTY);
+            if (this.index >= this.hashes.length) {
+                this.index = this.hashes.length;
+                return false;
+            }
+            return true;
+        }
+
+        private void checkPosition() {
+            if (this.index < 0 || this.index >= this.hashes.length) {
+                throw new IllegalStateException("cursor is not on a pair");
+            }
+        }
+
+        @Override
+        public K key() {
+            this.checkPosition();
+            return this.keys[this.index];
+        }
+
+        @Override
+        public V value() {
+            this.checkPosition();
+            return this.values[this.index];
+        }
+    }
+
+    private static class RobinHoodIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private K[] keys;
+        private V[] values;
+        private int[] hashes;
+        private int index;
+
+        public RobinHoodIterator(K[] keys, V[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.index = 0;
+            this.skipEmpty();
+        }
+
+        private void skipEmpty() {
+            while (this.index < this.hashes.length && this.hashes[this.index] == EMPTY) {
+                this.index++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.hashes.length;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("Dictionary is empty");
+            }
+            KVPair<K, V> result = new KVPair<>(this.keys[this.index], this.values[this.index]);
+            this.index++;
+            this.skipEmpty();
+            return result;
+        }
+    }
+}
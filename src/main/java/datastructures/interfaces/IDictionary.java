@@ -4,6 +4,7 @@ import datastructures.concrete.KVPair;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a data structure that contains a bunch of key-value mappings. Each key must be unique.
@@ -67,4 +68,53 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      * Returns a list of all key-value pairs contained within this dict.
      */
     public Iterator<KVPair<K, V>> iterator();
+
+    /**
+     * Returns a cursor over all key-value pairs contained within this dict.
+     * See IDictionaryCursor for details.
+     *
+     * Note: the default implementation is built on iterator(), and so still
+     *       allocates a KVPair per entry. Implementations should override it
+     *       with a version that walks their own storage.
+     */
+    public default IDictionaryCursor<K, V> cursor() {
+        Iterator<KVPair<K, V>> iter = this.iterator();
+        return new IDictionaryCursor<K, V>() {
+            private KVPair<K, V> current = null;
+
+            @Override
+            public boolean advance() {
+                this.current = iter.hasNext() ? iter.next() : null;
+                return this.current != null;
+            }
+
+            @Override
+            public K key() {
+                if (this.current == null) {
+                    throw new IllegalStateException("cursor is not on a pair");
+                }
+                return this.current.getKey();
+            }
+
+            @Override
+            public V value() {
+                if (this.current == null) {
+                    throw new IllegalStateException("cursor is not on a pair");
+                }
+                return this.current.getValue();
+            }
+        };
+    }
+
+    /**
+     * Calls the given action once on every key-value pair in this dict.
+     *
+     * The dictionary must not be modified from within the action.
+     */
+    public default void forEach(BiConsumer<? super K, ? super V> action) {
+        IDictionaryCursor<K, V> cursor = this.cursor();
+        while (cursor.advance()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package datastructures.interfaces;
+
+/**
+ * Walks the key-value pairs of an IDictionary in place.
+ *
+ * Unlike an Iterator<KVPair<K, V>>, a cursor does not allocate an object per
+ * pair: the client calls advance() to move to the next pair, and then reads
+ * that pair through key() and value(). A new cursor starts out positioned
+ * *before* the first pair.
+ *
+ * As with iterators, the dictionary must not be modified while a cursor over
+ * it is in use.
+ */
+public interface IDictionaryCursor<K, V> {
+    /**
+     * Moves to the next key-value pair. Returns 'true' if there was one, and
+     * 'false' if the cursor has moved past the last pair.
+     */
+    public boolean advance();
+
+    /**
+     * Returns the key of the pair the cursor is currently on.
+     *
+     * @throws IllegalStateException if advance() has not yet been called, or
+     *         if the last call to advance() returned false.
+     */
+    public K key();
+
+    /**
+     * Returns the value of the pair the cursor is currently on.
+     *
+     * @throws IllegalStateException if advance() has not yet been called, or
+     *         if the last call to advance() returned false.
+     */
+    public V value();
+}
@@ -27,4 +27,24 @@ public interface IDisjointSet<T> {
      * @throws IllegalArgumentException  if item1 and item2 are already a part of the same set
      */
     public void union(T item1, T item2);
+
+    /**
+     * Returns the number of disjoint sets: one per makeSet call, minus one per union.
+     */
+    public int numSets();
+
+    /**
+     * Returns the number of items in the set that contains the given item.
+     *
+     * @throws IllegalArgumentException  if the item is not contained inside this disjoint set
+     */
+    public int sizeOfSet(T item);
+
+    /**
+     * Returns every item in the set that contains the given item (including
+     * the item itself), in no particular order.
+     *
+     * @throws IllegalArgumentException  if the item is not contained inside this disjoint set
+     */
+    public IList<T> membersOfSet(T item);
 }
@@ -0,0 +1,91 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a priority queue of int values, each with a double key, that
+ * also keeps track of where each value is stored. Besides the usual
+ * removeMin, a value can therefore be looked up, given a smaller key or
+ * removed without searching the whole queue.
+ *
+ * Each value can be in the queue at most once, and the values an
+ * implementation accepts may be limited to a fixed range (such as the dense
+ * vertex ids of a graph).
+ */
+public interface IIndexedPriorityQueue {
+    /**
+     * Inserts the given value with the given key.
+     *
+     * @throws IllegalArgumentException  if the value is not accepted or already in the queue
+     * @throws IllegalArgumentException  if the key is NaN
+     */
+    void insert(int value, double key);
+
+    /**
+     * Removes and returns the value with the smallest key.
+     *
+     * If several values share the smallest key, this method may break the
+     * tie arbitrarily and return any one of them.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    int removeMin();
+
+    /**
+     * Returns, but does not remove, the value with the smallest key.
+     *
+     * This method must break ties in the same way the removeMin
+     * method breaks ties.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    int peekMin();
+
+    /**
+     * Returns the smallest key in the queue.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    double peekMinKey();
+
+    /**
+     * Lowers the key of a value already in the queue.
+     *
+     * @throws NoSuchElementException    if the value is not in the queue
+     * @throws IllegalArgumentException  if the new key is larger than the current key
+     */
+    void decreaseKey(int value, double key);
+
+    /**
+     * Returns 'true' if the given value is currently in the queue, 'false' otherwise.
+     */
+    boolean contains(int value);
+
+    /**
+     * Returns the current key of the given value.
+     *
+     * @throws NoSuchElementException  if the value is not in the queue
+     */
+    double keyOf(int value);
+
+    /**
+     * Removes the given value from the queue, wherever it is, and returns its key.
+     *
+     * @throws NoSuchElementException  if the value is not in the queue
+     */
+    double remove(int value);
+
+    /**
+     * Returns the number of values contained within this queue.
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this queue is empty, and false otherwise.
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
@@ -37,6 +37,20 @@ public interface IPriorityQueue<T extends Comparable<T>> {
      */
     void insert(T item);
 
+    /**
+     * Inserts every item in the given list into the queue.
+     *
+     * Implementations may override this to build the queue faster than
+     * inserting the items one at a time.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    default void insertAll(IList<T> items) {
+        for (T item : items) {
+            this.insert(item);
+        }
+    }
+
     /**
      * Returns the number of elements contained within this queue.
      */
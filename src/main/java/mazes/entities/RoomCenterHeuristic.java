@@ -0,0 +1,18 @@
+package mazes.entities;
+
+import misc.graphs.Heuristic;
+
+/**
+ * Estimates the distance between two rooms as the straight-line distance
+ * between their centers.
+ *
+ * A Wall's default weight is exactly the distance between the centers of the
+ * two rooms it separates, so by the triangle inequality this estimate is
+ * consistent for any graph whose edges are unmodified walls.
+ */
+public class RoomCenterHeuristic implements Heuristic<Room> {
+    @Override
+    public double estimate(Room room, Room target) {
+        return room.getCenter().distance(target.getCenter());
+    }
+}
@@ -31,11 +31,11 @@ public interface MazeCarver {
         ISet<Wall> toRemove = this.returnWallsToRemove(initialMaze);
 
         ISet<Wall> newWalls = new ChainedHashSet<>();
-        for (Wall wall : initialMaze.getWalls()) {
+        initialMaze.getWalls().forEach(wall -> {
             if (!toRemove.contains(wall)) {
                 newWalls.add(wall);
             }
-        }
+        });
 
         return new Maze(initialMaze.getRooms(), newWalls, initialMaze.getUntouchableWalls());
     }
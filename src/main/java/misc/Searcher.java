@@ -1,6 +1,8 @@
 package misc;
 
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.DoubleLinkedList;
@@ -8,6 +10,14 @@ import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
 public class Searcher {
+    // topKSort hands inputs at least this long to parallelTopKSort ...
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    // ... unless k is more than this fraction of them, since every chunk's
+    // heap has to be merged in the end
+    private static final int MAX_K_FRACTION = 16;
+    // parallelTopKSort gives each task at most this many items
+    private static final int GRAIN = 1 << 13;
+
     /**
      * This method takes the input list and returns the top k elements
      * in sorted order.
@@ -21,6 +31,7 @@ public class Searcher {
      * This method must not modify the input list.
      *
      * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if k > 0 and any input item is null
      */
     public static <T extends Comparable<T>> IList<T> topKSort(int k, IList<T> input) {
         // Implementation notes:
@@ -37,6 +48,10 @@ public class Searcher {
         if (k < 0) {
             throw new IllegalArgumentException("Not a valid number of elements");
         }
+        if (input.size() >= PARALLEL_THRESHOLD && k <= input.size() / MAX_K_FRACTION
+                && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return parallelTopKSort(k, input);
+        }
                 
         IPriorityQueue<T> result = new ArrayHeap<>();
         Iterator<T> iter = input.iterator();
@@ -66,4 +81,103 @@ public class Searcher {
         }
         return resultList;
     }
+
+    /**
+     * Returns the same list as topKSort, but splits the work across the
+     * common fork/join pool: the input is cut into chunks, each chunk keeps
+     * the top k of its own items in a heap of at most k items, and the
+     * heaps are merged pairwise, each merge again keeping only the top k.
+     *
+     * The input is first copied into an array (one pass on the calling
+     * thread), so this pays off when comparisons dominate, on long inputs
+     * with a small k. topKSort uses it on its own in that case.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if k > 0 and any input item is null
+     */
+    public static <T extends Comparable<T>> IList<T> parallelTopKSort(int k, IList<T> input) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Not a valid number of elements");
+        }
+        IList<T> resultList = new DoubleLinkedList<>();
+        // like topKSort, look at no items at all when none are wanted
+        if (k == 0) {
+            return resultList;
+        }
+        @SuppressWarnings("unchecked")
+        T[] items = (T[]) new Comparable[input.size()];
+        int count = 0;
+        for (T item : input) {
+            if (item == null) {
+                throw new IllegalArgumentException("input item cannot be null");
+            }
+            items[count] = item;
+            count++;
+        }
+
+        if (items.length == 0) {
+            return resultList;
+        }
+        IPriorityQueue<T> result = ForkJoinPool.commonPool().invoke(new TopKTask<>(k, items, 0, items.length));
+        while (!result.isEmpty()) {
+            resultList.add(result.removeMin());
+        }
+        return resultList;
+    }
+
+    /*
+     * Finds the top k items of items[lo, hi) as a heap of at most k items.
+     */
+    private static class TopKTask<T extends Comparable<T>> extends RecursiveTask<IPriorityQueue<T>> {
+        private static final long serialVersionUID = 1L;
+        private final int k;
+        private final T[] items;
+        private final int lo;
+        private final int hi;
+
+        public TopKTask(int k, T[] items, int lo, int hi) {
+            this.k = k;
+            this.items = items;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected IPriorityQueue<T> compute() {
+            if (this.hi - this.lo <= GRAIN) {
+                IPriorityQueue<T> heap = new ArrayHeap<>();
+                for (int i = this.lo; i < this.hi; i++) {
+                    this.offer(heap, this.items[i]);
+                }
+                return heap;
+            }
+            int mid = (this.lo + this.hi) >>> 1;
+            TopKTask<T> left = new TopKTask<>(this.k, this.items, this.lo, mid);
+            TopKTask<T> right = new TopKTask<>(this.k, this.items, mid, this.hi);
+            left.fork();
+            IPriorityQueue<T> merged = right.compute();
+            IPriorityQueue<T> other = left.join();
+            if (other.size() > merged.size()) {
+                IPriorityQueue<T> temp = merged;
+                merged = other;
+                other = temp;
+            }
+            while (!other.isEmpty()) {
+                this.offer(merged, other.removeMin());
+            }
+            return merged;
+        }
+
+        /*
+         * add the item to the heap if the heap has room or the item beats its minimum
+         */
+        private void offer(IPriorityQueue<T> heap, T item) {
+            if (heap.size() < this.k) {
+                heap.insert(item);
+            } else if (item.compareTo(heap.peekMin()) > 0) {
+                heap.removeMin();
+                heap.insert(item);
+            }
+        }
+    }
 }
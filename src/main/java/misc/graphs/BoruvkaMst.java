@@ -0,0 +1,227 @@
+package misc.graphs;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Computes a minimum spanning forest with Boruvka's algorithm, in parallel.
+ *
+ * Each round scans every edge on the common fork/join pool and records, for
+ * every component, its cheapest outgoing edge. All recorded edges are then
+ * contracted through a lock-free union-find, again in parallel. Edges are
+ * ranked by (weight, edge id), which is a strict total order, so the
+ * recorded edges can never form a cycle and every one of them belongs to
+ * the minimum spanning forest. The number of components at least halves
+ * each round.
+ */
+class BoruvkaMst {
+    // ranges smaller than this are processed by a single task
+    private static final int CHUNK_SIZE = 8192;
+    private static final int NONE = -1;
+
+    private final int[] endpoint1;
+    private final int[] endpoint2;
+    private final double[] weights;
+    private final int numVertices;
+
+    private final ConcurrentUnionFind components;
+    // cheapest[root] is the id of the cheapest edge leaving that component, or NONE
+    private final AtomicIntegerArray cheapest;
+    private final boolean[] inTree;
+
+    public BoruvkaMst(CompressedAdjacency csr) {
+        this.endpoint1 = csr.getEndpoint1();
+        this.endpoint2 = csr.getEndpoint2();
+        this.weights = csr.getEdgeWeights();
+        this.numVertices = csr.numVertices();
+        this.components = new ConcurrentUnionFind(this.numVertices);
+        this.cheapest = new AtomicIntegerArray(this.numVertices);
+        this.inTree = new boolean[this.endpoint1.length];
+    }
+
+    /**
+     * Runs the algorithm and returns, for every edge id, whether that edge is
+     * part of the minimum spanning forest.
+     */
+    public boolean[] run() {
+        for (int v = 0; v < this.numVertices; v++) {
+            this.cheapest.set(v, NONE);
+        }
+        boolean merged = true;
+        while (merged) {
+            forRange(0, this.endpoint1.length, this::findCheapest);
+            boolean[] progress = new boolean[1];
+            forRange(0, this.numVertices, (lo, hi) -> {
+                if (this.contract(lo, hi)) {
+                    progress[0] = true; // any thread may set it; nobody clears it
+                }
+            });
+            merged = progress[0];
+        }
+        return this.inTree;
+    }
+
+    /*
+     * return true if edge a ranks below edge b
+     */
+    private boolean lighter(int a, int b) {
+        return this.weights[a] < this.weights[b] || (this.weights[a] == this.weights[b] && a < b);
+    }
+
+    /*
+     * record each edge in [lo, hi) as a candidate for both components it joins
+     */
+    private void findCheapest(int lo, int hi) {
+        for (int e = lo; e < hi; e++) {
+            int root1 = this.components.find(this.endpoint1[e]);
+            int root2 = this.components.find(this.endpoint2[e]);
+            if (root1 != root2) {
+                this.offer(root1, e);
+                this.offer(root2, e);
+            }
+        }
+    }
+
+    /*
+     * lower cheapest[root] to the given edge if it ranks below the current one
+     */
+    private void offer(int root, int edge) {
+        while (true) {
+            int current = this.cheapest.get(root);
+            if (current != NONE && !this.lighter(edge, current)) {
+                return;
+            }
+            if (this.cheapest.compareAndSet(root, current, edge)) {
+                return;
+            }
+        }
+    }
+
+    /*
+     * contract the cheapest edge of every vertex in [lo, hi) that was a root
+     * this round; return true if any edge joined two components
+     */
+    private boolean contract(int lo, int hi) {
+        boolean merged = false;
+        for (int v = lo; v < hi; v++) {
+            int edge = this.cheapest.get(v);
+            if (edge == NONE) {
+                continue;
+            }
+            this.cheapest.set(v, NONE);
+            // both components may have picked the same edge; only one union succeeds
+            if (this.components.union(this.endpoint1[edge], this.endpoint2[edge])) {
+                this.inTree[edge] = true;
+                merged = true;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Processes a range of indices; implementations must be safe to run on
+     * disjoint ranges concurrently.
+     */
+    interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    /*
+     * run the body over [lo, hi), split into chunks across the common pool
+     */
+    static void forRange(int lo, int hi, RangeBody body) {
+        forRange(lo, hi, CHUNK_SIZE, body);
+    }
+
+    /*
+     * run the body over [lo, hi), split into chunks of at most 'grain' indices;
+     * a range that fits in one chunk runs on the calling thread
+     */
+    static void forRange(int lo, int hi, int grain, RangeBody body) {
+        if (hi - lo <= grain) {
+            body.run(lo, hi);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new RangeTask(lo, hi, grain, body));
+    }
+
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final RangeBody body;
+
+        public RangeTask(int lo, int hi, int grain, RangeBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.hi - this.lo <= this.grain) {
+                this.body.run(this.lo, this.hi);
+                return;
+            }
+            int mid = (this.lo + this.hi) >>> 1;
+            invokeAll(new RangeTask(this.lo, mid, this.grain, this.body),
+                    new RangeTask(mid, this.hi, this.grain, this.body));
+        }
+    }
+
+    /*
+     * A union-find over [0, size) that any number of threads may use at once.
+     * Roots point to themselves; find halves paths with compare-and-set, and
+     * union always links the larger root id under the smaller one, so no two
+     * threads can ever link roots into a cycle.
+     */
+    private static class ConcurrentUnionFind {
+        private final AtomicIntegerArray parent;
+
+        public ConcurrentUnionFind(int size) {
+            this.parent = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) {
+                this.parent.set(i, i);
+            }
+        }
+
+        public int find(int item) {
+            while (true) {
+                int p = this.parent.get(item);
+                if (p == item) {
+                    return item;
+                }
+                int grandparent = this.parent.get(p);
+                if (grandparent == p) {
+                    return p;
+                }
+                this.parent.compareAndSet(item, p, grandparent);
+                item = grandparent;
+            }
+        }
+
+        /*
+         * join the sets of the two items; return false if they were already joined
+         */
+        public boolean union(int item1, int item2) {
+            while (true) {
+                int root1 = this.find(item1);
+                int root2 = this.find(item2);
+                if (root1 == root2) {
+                    return false;
+                }
+                if (root1 < root2) {
+                    int temp = root1;
+                    root1 = root2;
+                    root2 = temp;
+                }
+                if (this.parent.compareAndSet(root1, root1, root2)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package misc.graphs;
+
+/**
+ * A breadth-first search over a frozen Graph that ignores edge weights, for
+ * reachability, hop counts and connected components.
+ *
+ * Visited vertices are marked in a bitset and the search queue is a single
+ * int array holding every visited vertex in order, so each level of the
+ * search is a contiguous run of it. The search is direction-optimizing
+ * (Beamer et al.): while the frontier is small it pushes outward from the
+ * frontier ("top-down"), but once the frontier's edges outnumber a fraction
+ * of the unexplored ones, it instead scans every unvisited vertex for a
+ * neighbor in the frontier ("bottom-up"), which stops at the first hit and
+ * so touches far fewer edges when most of the graph is being reached at once.
+ *
+ * Visited marks persist across searches until reset(), so searching from
+ * every unvisited vertex in turn labels the connected components.
+ */
+class BreadthFirstSearch {
+    // switch to bottom-up once frontier edges > unexplored edges / ALPHA,
+    // and back to top-down once the frontier holds < numVertices / BETA vertices
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int numVertices;
+
+    private final long[] visited;
+    // the current level as a bitset, only filled in for bottom-up steps
+    private final long[] frontier;
+    private final int[] queue;
+    private int numVisited;
+    private long unexploredSlots;
+
+    public BreadthFirstSearch(CompressedAdjacency csr) {
+        this.offsets = csr.getOffsets();
+        this.targets = csr.getTargets();
+        this.numVertices = csr.numVertices();
+        this.visited = new long[(this.numVertices + 63) >>> 6];
+        this.frontier = new long[this.visited.length];
+        this.queue = new int[this.numVertices];
+        this.reset();
+    }
+
+    /**
+     * Forgets every visited vertex.
+     */
+    public void reset() {
+        for (int i = 0; i < this.visited.length; i++) {
+            this.visited[i] = 0L;
+        }
+        this.numVisited = 0;
+        this.unexploredSlots = this.offsets[this.numVertices];
+    }
+
+    public boolean isVisited(int vertex) {
+        return (this.visited[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    /**
+     * Returns how many vertices have been visited since the last reset.
+     */
+    public int numVisited() {
+        return this.numVisited;
+    }
+
+    /**
+     * Returns the i-th vertex visited since the last reset.
+     */
+    public int visitedAt(int i) {
+        return this.queue[i];
+    }
+
+    /*
+     * mark the vertex visited and append it to the queue
+     */
+    private void visit(int vertex) {
+        this.visited[vertex >>> 6] |= 1L << vertex;
+        this.queue[this.numVisited] = vertex;
+        this.numVisited++;
+        this.unexploredSlots -= this.offsets[vertex + 1] - this.offsets[vertex];
+    }
+
+    /**
+     * Visits every unvisited vertex reachable from the source, level by level,
+     * stopping early once the target is visited. Returns the number of edges
+     * on the shortest path to the target, or -1 if it was not reached (pass
+     * -1 as the target to explore everything).
+     *
+     * The source must not have been visited yet.
+     */
+    public int search(int source, int target) {
+        this.visit(source);
+        if (source == target) {
+            return 0;
+        }
+        int levelStart = this.numVisited - 1;
+        int levelEnd = this.numVisited;
+        long frontierSlots = this.offsets[source + 1] - this.offsets[source];
+        boolean bottomUp = false;
+        int depth = 0;
+        while (levelStart < levelEnd) {
+            int frontierSize = levelEnd - levelStart;
+            if (bottomUp) {
+                bottomUp = frontierSize >= this.numVertices / BETA;
+            } else {
+                bottomUp = frontierSlots > this.unexploredSlots / ALPHA;
+            }
+            if (bottomUp) {
+                this.stepBottomUp(levelStart, levelEnd);
+            } else {
+                this.stepTopDown(levelStart, levelEnd);
+            }
+            depth++;
+            if (target >= 0 && this.isVisited(target)) {
+                return depth;
+            }
+            levelStart = levelEnd;
+            levelEnd = this.numVisited;
+            frontierSlots = 0;
+            for (int i = levelStart; i < levelEnd; i++) {
+                int vertex = this.queue[i];
+                frontierSlots += this.offsets[vertex + 1] - this.offsets[vertex];
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * visit every unvisited neighbor of the vertices in queue[levelStart, levelEnd)
+     */
+    private void stepTopDown(int levelStart, int levelEnd) {
+        for (int i = levelStart; i < levelEnd; i++) {
+            int vertex = this.queue[i];
+            for (int slot = this.offsets[vertex]; slot < this.offsets[vertex + 1]; slot++) {
+                int other = this.targets[slot];
+                if (!this.isVisited(other)) {
+                    this.visit(other);
+                }
+            }
+        }
+    }
+
+    /*
+     * visit every unvisited vertex that has a neighbor in queue[levelStart, levelEnd)
+     */
+    private void stepBottomUp(int levelStart, int levelEnd) {
+        for (int i = levelStart; i < levelEnd; i++) {
+            int vertex = this.queue[i];
+            this.frontier[vertex >>> 6] |= 1L << vertex;
+        }
+        for (int word = 0; word < this.visited.length; word++) {
+            long unvisited = ~this.visited[word];
+            while (unvisited != 0L) {
+                int vertex = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                if (vertex >= this.numVertices) {
+                    break;
+                }
+                for (int slot = this.offsets[vertex]; slot < this.offsets[vertex + 1]; slot++) {
+                    int other = this.targets[slot];
+                    if ((this.frontier[other >>> 6] & (1L << other)) != 0) {
+                        this.visit(vertex);
+                        break;
+                    }
+                }
+            }
+        }
+        for (int i = levelStart; i < levelEnd; i++) {
+            int vertex = this.queue[i];
+            this.frontier[vertex >>> 6] = 0L;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package misc.graphs;
+
+/**
+ * The compressed sparse row (CSR) layout of a frozen Graph.
+ *
+ * Vertices and edges are identified by dense ints. The neighbors of vertex v
+ * occupy the slots offsets[v] through offsets[v + 1] - 1 of the targets,
+ * weights and edgeIds arrays, so scanning them touches a few contiguous
+ * arrays instead of a hash set per vertex. Each undirected edge fills one
+ * slot at each endpoint (one slot in total for a self-loop).
+ *
+ * The per-edge arrays (endpoint1, endpoint2, edgeWeights, edges) are indexed
+ * by edge id, which is the edge's position in the graph's edge list.
+ *
+ * Algorithms should copy the arrays they need into locals before looping.
+ * The arrays are shared, so callers must never modify them.
+ */
+class CompressedAdjacency {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edgeIds;
+
+    private final int[] endpoint1;
+    private final int[] endpoint2;
+    private final double[] edgeWeights;
+    private final Object[] edges;
+
+    /**
+     * Lays out the given edges. Edge i connects the vertices endpoint1[i] and
+     * endpoint2[i], which must be in [0, numVertices).
+     */
+    public CompressedAdjacency(int numVertices, int[] endpoint1, int[] endpoint2,
+                               double[] edgeWeights, Object[] edges) {
+        this.endpoint1 = endpoint1;
+        this.endpoint2 = endpoint2;
+        this.edgeWeights = edgeWeights;
+        this.edges = edges;
+
+        // count the degree of every vertex, then turn the counts into start offsets
+        this.offsets = new int[numVertices + 1];
+        for (int i = 0; i < edges.length; i++) {
+            this.offsets[endpoint1[i] + 1]++;
+            if (endpoint1[i] != endpoint2[i]) {
+                this.offsets[endpoint2[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            this.offsets[v + 1] += this.offsets[v];
+        }
+
+        int numSlots = this.offsets[numVertices];
+        this.targets = new int[numSlots];
+        this.weights = new double[numSlots];
+        this.edgeIds = new int[numSlots];
+        int[] next = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            next[v] = this.offsets[v];
+        }
+        for (int i = 0; i < edges.length; i++) {
+            int a = endpoint1[i];
+            int b = endpoint2[i];
+            this.fill(next[a]++, b, i);
+            if (a != b) {
+                this.fill(next[b]++, a, i);
+            }
+        }
+    }
+
+    private void fill(int slot, int target, int edgeId) {
+        this.targets[slot] = target;
+        this.weights[slot] = this.edgeWeights[edgeId];
+        this.edgeIds[slot] = edgeId;
+    }
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int numVertices() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of edges.
+     */
+    public int numEdges() {
+        return this.edges.length;
+    }
+
+    public int[] getOffsets() {
+        return this.offsets;
+    }
+
+    public int[] getTargets() {
+        return this.targets;
+    }
+
+    public double[] getWeights() {
+        return this.weights;
+    }
+
+    public int[] getEdgeIds() {
+        return this.edgeIds;
+    }
+
+    public int[] getEndpoint1() {
+        return this.endpoint1;
+    }
+
+    public int[] getEndpoint2() {
+        return this.endpoint2;
+    }
+
+    public double[] getEdgeWeights() {
+        return this.edgeWeights;
+    }
+
+    /**
+     * Returns the edge object with the given id.
+     */
+    public Object getEdge(int edgeId) {
+        return this.edges[edgeId];
+    }
+}
@@ -0,0 +1,525 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleKeyIntHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoPathExistsException;
+
+import java.util.Arrays;
+
+/**
+ * A Contraction Hierarchy over a Graph, for answering many shortest path
+ * queries on a graph that never changes.
+ *
+ * Preprocessing removes ("contracts") the vertices one at a time, from least
+ * to most important. Whenever removing a vertex v would lengthen the shortest
+ * path between two of its remaining neighbors u and w, a shortcut edge u - w
+ * with the weight of u - v - w is added in its place. Afterwards every
+ * shortest path can be found using only edges that lead from a vertex to a
+ * more important one, so a query runs a tiny bidirectional Dijkstra that only
+ * climbs the hierarchy from both ends and meets at the top. Shortcuts remember
+ * the two edges they replace, so paths are unpacked back into original edges.
+ *
+ * Importance is decided greedily: twice the edge difference (shortcuts
+ * added minus edges removed), plus the number of neighbors already
+ * contracted, plus the vertex's level in the hierarchy so far. This keeps the
+ * hierarchy small and evenly spread. Priorities are recomputed lazily when a
+ * vertex reaches the front of the queue. Queries skip vertices that a more
+ * important vertex reaches more cheaply ("stall-on-demand"), which roughly
+ * halves the number of vertices they settle.
+ *
+ * The hierarchy itself is never modified after construction, but the query
+ * methods reuse internal arrays, so an instance must not be queried by more
+ * than one thread at a time.
+ */
+public class ContractionHierarchy<V, E extends Edge<V> & Comparable<E>> {
+    private static final int NONE = -1;
+    // witness searches give up after settling this many vertices and assume no
+    // witness exists; that only costs an unneeded shortcut, never correctness
+    private static final int WITNESS_SETTLE_LIMIT = 50;
+
+    private final Graph<V, E> graph;
+    private final int numVertices;
+    private final int numEdges;
+
+    // Arcs are the original edges (arc id == edge id) followed by the
+    // shortcuts. A shortcut from arcEnd1 to arcEnd2 replaces arcChild1, which
+    // runs from arcEnd1 to the contracted vertex, followed by arcChild2.
+    private int numArcs;
+    private int[] arcEnd1;
+    private int[] arcEnd2;
+    private double[] arcWeight;
+    private int[] arcChild1;
+    private int[] arcChild2;
+
+    // the upward graph in CSR form: the arcs from each vertex to more important ones
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upArcs;
+
+    private final SearchFrontier forward;
+    private final SearchFrontier backward;
+    private int verticesSettled;
+
+    /**
+     * Builds the hierarchy for the given graph. This takes much longer than a
+     * single shortest path search, and pays off once the graph is queried
+     * many times.
+     */
+    public ContractionHierarchy(Graph<V, E> graph) {
+        CompressedAdjacency csr = graph.adjacency();
+        this.graph = graph;
+        this.numVertices = csr.numVertices();
+
+        this.numEdges = csr.numEdges();
+        this.numArcs = this.numEdges;
+        int capacity = Math.max(16, 2 * this.numEdges);
+        this.arcEnd1 = Arrays.copyOf(csr.getEndpoint1(), capacity);
+        this.arcEnd2 = Arrays.copyOf(csr.getEndpoint2(), capacity);
+        this.arcWeight = Arrays.copyOf(csr.getEdgeWeights(), capacity);
+        this.arcChild1 = new int[capacity];
+        this.arcChild2 = new int[capacity];
+        Arrays.fill(this.arcChild1, NONE);
+        Arrays.fill(this.arcChild2, NONE);
+
+        int[] rank = new Contractor(csr).run();
+
+        // keep each arc only at its less important end
+        this.upOffsets = new int[this.numVertices + 1];
+        for (int arc = 0; arc < this.numArcs; arc++) {
+            if (this.arcEnd1[arc] != this.arcEnd2[arc]) {
+                this.upOffsets[this.lowerEnd(arc, rank) + 1]++;
+            }
+        }
+        for (int v = 0; v < this.numVertices; v++) {
+            this.upOffsets[v + 1] += this.upOffsets[v];
+        }
+        int numSlots = this.upOffsets[this.numVertices];
+        this.upTargets = new int[numSlots];
+        this.upWeights = new double[numSlots];
+        this.upArcs = new int[numSlots];
+        int[] next = Arrays.copyOf(this.upOffsets, this.numVertices);
+        for (int arc = 0; arc < this.numArcs; arc++) {
+            if (this.arcEnd1[arc] != this.arcEnd2[arc]) {
+                int lower = this.lowerEnd(arc, rank);
+                int slot = next[lower]++;
+                this.upTargets[slot] = this.otherEnd(arc, lower);
+                this.upWeights[slot] = this.arcWeight[arc];
+                this.upArcs[slot] = arc;
+            }
+        }
+
+        this.forward = new SearchFrontier(this.numVertices);
+        this.backward = new SearchFrontier(this.numVertices);
+        this.verticesSettled = 0;
+    }
+
+    /*
+     * return the endpoint of the arc that was contracted first
+     */
+    private int lowerEnd(int arc, int[] rank) {
+        int a = this.arcEnd1[arc];
+        int b = this.arcEnd2[arc];
+        return rank[a] < rank[b] ? a : b;
+    }
+
+    /*
+     * return the vertex at the other end of the arc
+     */
+    private int otherEnd(int arc, int vertex) {
+        return this.arcEnd1[arc] == vertex ? this.arcEnd2[arc] : this.arcEnd1[arc];
+    }
+
+    /*
+     * append a shortcut and return its id
+     */
+    private int addShortcut(int from, int to, double weight, int child1, int child2) {
+        if (this.numArcs == this.arcEnd1.length) {
+            int capacity = 2 * this.numArcs;
+            this.arcEnd1 = Arrays.copyOf(this.arcEnd1, capacity);
+            this.arcEnd2 = Arrays.copyOf(this.arcEnd2, capacity);
+            this.arcWeight = Arrays.copyOf(this.arcWeight, capacity);
+            this.arcChild1 = Arrays.copyOf(this.arcChild1, capacity);
+            this.arcChild2 = Arrays.copyOf(this.arcChild2, capacity);
+        }
+        int arc = this.numArcs;
+        this.arcEnd1[arc] = from;
+        this.arcEnd2[arc] = to;
+        this.arcWeight[arc] = weight;
+        this.arcChild1[arc] = child1;
+        this.arcChild2[arc] = child2;
+        this.numArcs++;
+        return arc;
+    }
+
+    /**
+     * Returns the number of shortcut edges preprocessing added.
+     */
+    public int numShortcuts() {
+        return this.numArcs - this.numEdges;
+    }
+
+    /**
+     * Returns the total weight of the shortest path from the start to the end,
+     * without building the path itself.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of the graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public double findDistanceBetween(V start, V end) {
+        int source = this.graph.idOf(start);
+        int target = this.graph.idOf(end);
+        int meet = this.search(source, target);
+        return this.forward.distanceTo(meet) + this.backward.distanceTo(meet);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * exactly as Graph.findShortestPathBetween does.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of the graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end) {
+        int source = this.graph.idOf(start);
+        int target = this.graph.idOf(end);
+        int meet = this.search(source, target);
+
+        // collect the upward arcs on the start side, from the meeting point down
+        int[] startArcs = new int[8];
+        int numStartArcs = 0;
+        int currentId = meet;
+        while (this.forward.edgeTo(currentId) != NONE) {
+            if (numStartArcs == startArcs.length) {
+                startArcs = Arrays.copyOf(startArcs, 2 * numStartArcs);
+            }
+            int arc = this.forward.edgeTo(currentId);
+            startArcs[numStartArcs] = arc;
+            numStartArcs++;
+            currentId = this.otherEnd(arc, currentId);
+        }
+
+        IList<E> result = new DoubleLinkedList<>();
+        currentId = source;
+        for (int i = numStartArcs - 1; i >= 0; i--) {
+            this.unpack(startArcs[i], currentId, result);
+            currentId = this.otherEnd(startArcs[i], currentId);
+        }
+        while (currentId != target) { // the end side's predecessors lead to the end
+            int arc = this.backward.edgeTo(currentId);
+            this.unpack(arc, currentId, result);
+            currentId = this.otherEnd(arc, currentId);
+        }
+        return result;
+    }
+
+    /*
+     * run the upward bidirectional search and return the vertex where the
+     * shortest path peaks
+     */
+    private int search(int source, int target) {
+        this.forward.reset();
+        this.backward.reset();
+        this.verticesSettled = 0;
+        this.forward.relax(source, 0.0, NONE, 0.0);
+        this.backward.relax(target, 0.0, NONE, 0.0);
+
+        double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+        int meet = source == target ? source : NONE;
+        while (true) {
+            // a side is done once it cannot reach anything closer than the best path
+            boolean forwardOpen = !this.forward.isEmpty() && this.forward.peekMinKey() < best;
+            boolean backwardOpen = !this.backward.isEmpty() && this.backward.peekMinKey() < best;
+            if (!forwardOpen && !backwardOpen) {
+                break;
+            }
+            SearchFrontier side = this.backward;
+            if (forwardOpen && (!backwardOpen || this.forward.peekMinKey() <= this.backward.peekMinKey())) {
+                side = this.forward;
+            }
+            SearchFrontier other = side == this.forward ? this.backward : this.forward;
+
+            int currentId = side.settleNext();
+            this.verticesSettled++;
+            double currentDist = side.distanceTo(currentId);
+            if (this.isStalled(side, currentId, currentDist)) {
+                continue;
+            }
+            for (int slot = this.upOffsets[currentId]; slot < this.upOffsets[currentId + 1]; slot++) {
+                int otherId = this.upTargets[slot];
+                if (side.isSettled(otherId)) {
+                    continue;
+                }
+                double newDistance = currentDist + this.upWeights[slot];
+                side.relax(otherId, newDistance, this.upArcs[slot], newDistance);
+                if (other.isReached(otherId)) {
+                    double candidate = side.distanceTo(otherId) + other.distanceTo(otherId);
+                    if (candidate < best) {
+                        best = candidate;
+                        meet = otherId;
+                    }
+                }
+            }
+        }
+
+        if (meet == NONE) {
+            throw new NoPathExistsException("no path from start to end");
+        }
+        return meet;
+    }
+
+    /*
+     * return whether a more important vertex this side has already reached
+     * offers a shorter way to the vertex; then the vertex cannot lie on a
+     * shortest path found by this search, and expanding it is wasted work
+     * ("stall-on-demand")
+     */
+    private boolean isStalled(SearchFrontier side, int vertex, double distance) {
+        for (int slot = this.upOffsets[vertex]; slot < this.upOffsets[vertex + 1]; slot++) {
+            int higher = this.upTargets[slot];
+            if (side.isReached(higher) && side.distanceTo(higher) + this.upWeights[slot] < distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * append to 'result' the original edges making up the given arc, walking
+     * it starting from the given endpoint
+     */
+    private void unpack(int arc, int from, IList<E> result) {
+        // a stack of (arc, starting vertex) pairs still to be unpacked
+        int[] arcs = new int[16];
+        int[] froms = new int[16];
+        arcs[0] = arc;
+        froms[0] = from;
+        int size = 1;
+        while (size > 0) {
+            size--;
+            int current = arcs[size];
+            int start = froms[size];
+            if (this.arcChild1[current] == NONE) {
+                result.add(this.graph.edgeOf(current));
+                continue;
+            }
+            if (size + 2 > arcs.length) {
+                arcs = Arrays.copyOf(arcs, 2 * arcs.length);
+                froms = Arrays.copyOf(froms, 2 * froms.length);
+            }
+            // push the second half first so that the first half is walked first
+            int first = this.arcEnd1[current] == start ? this.arcChild1[current] : this.arcChild2[current];
+            int second = first == this.arcChild1[current] ? this.arcChild2[current] : this.arcChild1[current];
+            int middle = this.otherEnd(first, start);
+            arcs[size] = second;
+            froms[size] = middle;
+            arcs[size + 1] = first;
+            froms[size + 1] = start;
+            size += 2;
+        }
+    }
+
+    /**
+     * Returns how many vertices the most recent query settled, counting both
+     * sides of the search.
+     */
+    public int getVerticesSettled() {
+        return this.verticesSettled;
+    }
+
+    /*
+     * The contraction phase. Keeps at every vertex a growable list of its arcs
+     * to vertices that are not contracted yet, and contracts the vertices in
+     * order of priority, adding shortcuts to the enclosing hierarchy's arcs.
+     */
+    private class Contractor {
+        private final int[][] incident;
+        private final int[] numIncident;
+        private final int[] contractedNeighbors;
+        // one more than the deepest level among the contracted neighbors
+        private final int[] levels;
+        private final SearchFrontier witness;
+
+        // the distinct remaining neighbors of the vertex being contracted,
+        // with the lightest arc to each; neighborIndex is valid if the stamp is current
+        private int[] neighbors;
+        private int[] neighborArcs;
+        private int numNeighbors;
+        private final int[] neighborIndex;
+        private final int[] neighborStamps;
+        private int stamp;
+
+        public Contractor(CompressedAdjacency csr) {
+            int[] offsets = csr.getOffsets();
+            int[] edgeIds = csr.getEdgeIds();
+            this.incident = new int[numVertices][];
+            this.numIncident = new int[numVertices];
+            for (int v = 0; v < numVertices; v++) {
+                int degree = offsets[v + 1] - offsets[v];
+                this.incident[v] = Arrays.copyOfRange(edgeIds, offsets[v], offsets[v] + Math.max(4, degree));
+                this.numIncident[v] = degree;
+            }
+            this.contractedNeighbors = new int[numVertices];
+            this.levels = new int[numVertices];
+            this.witness = new SearchFrontier(numVertices);
+            this.neighbors = new int[8];
+            this.neighborArcs = new int[8];
+            this.numNeighbors = 0;
+            this.neighborIndex = new int[numVertices];
+            this.neighborStamps = new int[numVertices];
+            this.stamp = 0;
+        }
+
+        /*
+         * contract every vertex and return the rank of each, where a higher
+         * rank means more important
+         */
+        public int[] run() {
+            double[] priorities = new double[numVertices];
+            for (int v = 0; v < numVertices; v++) {
+                priorities[v] = this.priority(v);
+            }
+            DoubleKeyIntHeap queue = new DoubleKeyIntHeap(priorities);
+            int[] rank = new int[numVertices];
+            int nextRank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.removeMin();
+                double priority = this.priority(v);
+                if (!queue.isEmpty() && priority > queue.peekMinKey()) {
+                    queue.insert(v, priority); // stale: another vertex comes first
+                    continue;
+                }
+                this.contract(v, false);
+                rank[v] = nextRank;
+                nextRank++;
+                for (int i = 0; i < this.numIncident[v]; i++) {
+                    int u = otherEnd(this.incident[v][i], v);
+                    if (u != v && this.detach(u, v)) {
+                        this.contractedNeighbors[u]++;
+                        this.levels[u] = Math.max(this.levels[u], this.levels[v] + 1);
+                    }
+                }
+            }
+            return rank;
+        }
+
+        /*
+         * return how undesirable it is to contract the vertex now
+         */
+        private double priority(int v) {
+            int numShortcuts = this.contract(v, true);
+            return 2 * (numShortcuts - this.numNeighbors) + this.contractedNeighbors[v] + this.levels[v];
+        }
+
+        /*
+         * collect the remaining neighbors of v, then add (or, when simulating,
+         * just count) the shortcuts needed to contract v
+         */
+        private int contract(int v, boolean simulate) {
+            this.stamp++;
+            this.numNeighbors = 0;
+            for (int i = 0; i < this.numIncident[v]; i++) {
+                int arc = this.incident[v][i];
+                int u = otherEnd(arc, v);
+                if (u == v) {
+                    continue;
+                }
+                if (this.neighborStamps[u] != this.stamp) {
+                    this.neighborStamps[u] = this.stamp;
+                    if (this.numNeighbors == this.neighbors.length) {
+                        this.neighbors = Arrays.copyOf(this.neighbors, 2 * this.numNeighbors);
+                        this.neighborArcs = Arrays.copyOf(this.neighborArcs, 2 * this.numNeighbors);
+                    }
+                    this.neighborIndex[u] = this.numNeighbors;
+                    this.neighbors[this.numNeighbors] = u;
+                    this.neighborArcs[this.numNeighbors] = arc;
+                    this.numNeighbors++;
+                } else if (arcWeight[arc] < arcWeight[this.neighborArcs[this.neighborIndex[u]]]) {
+                    this.neighborArcs[this.neighborIndex[u]] = arc;
+                }
+            }
+
+            int numShortcuts = 0;
+            for (int i = 0; i < this.numNeighbors; i++) {
+                int u = this.neighbors[i];
+                double toU = arcWeight[this.neighborArcs[i]];
+                double maxVia = 0.0;
+                for (int j = i + 1; j < this.numNeighbors; j++) {
+                    maxVia = Math.max(maxVia, toU + arcWeight[this.neighborArcs[j]]);
+                }
+                if (i + 1 < this.numNeighbors) {
+                    this.findWitnesses(u, v, maxVia);
+                }
+                for (int j = i + 1; j < this.numNeighbors; j++) {
+                    int w = this.neighbors[j];
+                    double via = toU + arcWeight[this.neighborArcs[j]];
+                    if (this.witness.isReached(w) && this.witness.distanceTo(w) <= via) {
+                        continue; // a path avoiding v is just as short
+                    }
+                    numShortcuts++;
+                    if (!simulate) {
+                        int shortcut = addShortcut(u, w, via, this.neighborArcs[i], this.neighborArcs[j]);
+                        this.attach(u, shortcut);
+                        this.attach(w, shortcut);
+                    }
+                }
+            }
+            return numShortcuts;
+        }
+
+        /*
+         * run a bounded Dijkstra from 'source' through remaining vertices other
+         * than 'skip', stopping past 'limit' or after WITNESS_SETTLE_LIMIT vertices
+         */
+        private void findWitnesses(int source, int skip, double limit) {
+            this.witness.reset();
+            this.witness.relax(source, 0.0, NONE, 0.0);
+            int settled = 0;
+            while (!this.witness.isEmpty() && this.witness.peekMinKey() <= limit
+                    && settled < WITNESS_SETTLE_LIMIT) {
+                int current = this.witness.settleNext();
+                settled++;
+                double currentDist = this.witness.distanceTo(current);
+                for (int i = 0; i < this.numIncident[current]; i++) {
+                    int arc = this.incident[current][i];
+                    int other = otherEnd(arc, current);
+                    if (other == skip || this.witness.isSettled(other)) {
+                        continue;
+                    }
+                    double newDistance = currentDist + arcWeight[arc];
+                    this.witness.relax(other, newDistance, arc, newDistance);
+                }
+            }
+        }
+
+        /*
+         * remove the arcs to the contracted vertex from the given vertex's
+         * incident list, and return whether there were any
+         */
+        private boolean detach(int vertex, int contracted) {
+            int[] arcs = this.incident[vertex];
+            int kept = 0;
+            for (int i = 0; i < this.numIncident[vertex]; i++) {
+                if (otherEnd(arcs[i], vertex) != contracted) {
+                    arcs[kept] = arcs[i];
+                    kept++;
+                }
+            }
+            boolean removed = kept < this.numIncident[vertex];
+            this.numIncident[vertex] = kept;
+            return removed;
+        }
+
+        /*
+         * add the arc to the vertex's incident list
+         */
+        private void attach(int v, int arc) {
+            if (this.numIncident[v] == this.incident[v].length) {
+                this.incident[v] = Arrays.copyOf(this.incident[v], 2 * this.numIncident[v]);
+            }
+            this.incident[v][this.numIncident[v]] = arc;
+            this.numIncident[v]++;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package misc.graphs;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Computes the distance from one vertex to every vertex with the
+ * delta-stepping algorithm of Meyer and Sanders, in parallel.
+ *
+ * Vertices wait in buckets of width delta, by tentative distance, and the
+ * buckets are emptied in order. All vertices of the current bucket are
+ * expanded at once on the common fork/join pool. Light edges (weight at most
+ * delta) may put vertices back into the current bucket, so they are relaxed
+ * round after round until the bucket stays empty; heavy edges should only
+ * reach later buckets, so they are relaxed once the bucket is empty (and
+ * again if rounding put a vertex back into it). Tentative
+ * distances are only ever lowered with compare-and-set, so concurrent
+ * updates are never lost.
+ *
+ * Small deltas approach Dijkstra (little wasted work, little parallelism);
+ * large deltas approach Bellman-Ford. Around the average edge weight, buckets
+ * on large mazes hold thousands of vertices while few are relaxed twice.
+ */
+class DeltaSteppingSssp {
+    // ranges of vertices smaller than this are expanded by a single task
+    private static final int GRAIN = 512;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int numVertices;
+    private final double delta;
+
+    // The bits of each tentative distance. Non-negative doubles order the
+    // same way as their bits do when read as longs, so a CAS loop on the
+    // bits can lower a distance atomically.
+    private final AtomicLongArray distances;
+    // claimed[v] == phase once v has been recorded as improved in that phase
+    private final AtomicIntegerArray claimed;
+    private int phase;
+
+    // buckets[i] holds vertices whose distance was in [i * delta, (i + 1) * delta)
+    // when they were added; entries go stale when the distance drops further
+    private IntBuffer[] buckets;
+    // the vertices improved by the current phase, gathered from every task
+    private final IntBuffer improved;
+
+    /**
+     * Prepares a search over the given graph with the given bucket width.
+     *
+     * @throws IllegalArgumentException  if delta is not positive
+     */
+    public DeltaSteppingSssp(CompressedAdjacency csr, double delta) {
+        if (!(delta > 0.0)) {
+            throw new IllegalArgumentException("delta must be positive");
+        }
+        this.offsets = csr.getOffsets();
+        this.targets = csr.getTargets();
+        this.weights = csr.getWeights();
+        this.numVertices = csr.numVertices();
+        this.delta = delta;
+        this.distances = new AtomicLongArray(this.numVertices);
+        this.claimed = new AtomicIntegerArray(this.numVertices);
+        this.phase = 0;
+        this.buckets = new IntBuffer[16];
+        this.improved = new IntBuffer();
+    }
+
+    /**
+     * Returns the distance from the source to every vertex, indexed by vertex
+     * id; unreachable vertices get positive infinity.
+     */
+    public double[] run(int source) {
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < this.numVertices; v++) {
+            this.distances.set(v, infinity);
+        }
+        this.distances.set(source, Double.doubleToRawLongBits(0.0));
+        this.addToBucket(source);
+
+        // a vertex enters the frontier at most once per round, and the
+        // finished list at most once per heavy pass
+        int[] frontierRound = new int[this.numVertices];
+        int[] finishedPass = new int[this.numVertices];
+        int round = 0;
+        int pass = 0;
+        IntBuffer frontier = new IntBuffer();
+        IntBuffer finished = new IntBuffer();
+        for (int b = 0; b < this.buckets.length; b++) {
+            // A heavy edge is longer than delta, but rounding can still put
+            // its far end back into bucket b, so keep going until the heavy
+            // pass leaves the bucket empty.
+            while (this.buckets[b] != null) {
+                pass++;
+                finished.clear();
+                while (this.buckets[b] != null) {
+                    IntBuffer bucket = this.buckets[b];
+                    this.buckets[b] = null; // light edges may start a fresh one
+                    round++;
+                    frontier.clear();
+                    for (int i = 0; i < bucket.size; i++) {
+                        int v = bucket.items[i];
+                        if (this.bucketOf(v) != b || frontierRound[v] == round) {
+                            continue; // stale or duplicate entry
+                        }
+                        frontierRound[v] = round;
+                        frontier.add(v);
+                        if (finishedPass[v] != pass) {
+                            finishedPass[v] = pass;
+                            finished.add(v);
+                        }
+                    }
+                    this.relaxAll(frontier, true);
+                }
+                this.relaxAll(finished, false);
+            }
+        }
+
+        double[] result = new double[this.numVertices];
+        for (int v = 0; v < this.numVertices; v++) {
+            result[v] = this.distanceOf(v);
+        }
+        return result;
+    }
+
+    private double distanceOf(int vertex) {
+        return Double.longBitsToDouble(this.distances.get(vertex));
+    }
+
+    private int bucketOf(int vertex) {
+        return (int) (this.distanceOf(vertex) / this.delta);
+    }
+
+    /*
+     * file the vertex under the bucket of its current distance
+     */
+    private void addToBucket(int vertex) {
+        int b = this.bucketOf(vertex);
+        if (b >= this.buckets.length) {
+            this.buckets = Arrays.copyOf(this.buckets, Math.max(b + 1, 2 * this.buckets.length));
+        }
+        if (this.buckets[b] == null) {
+            this.buckets[b] = new IntBuffer();
+        }
+        this.buckets[b].add(vertex);
+    }
+
+    /*
+     * in parallel, relax either the light or the heavy edges of the given
+     * vertices, then file every vertex whose distance dropped into its bucket
+     */
+    private void relaxAll(IntBuffer vertices, boolean light) {
+        if (vertices.size == 0) {
+            return;
+        }
+        this.phase++;
+        int currentPhase = this.phase;
+        int[] items = vertices.items;
+        this.improved.clear();
+        BoruvkaMst.forRange(0, vertices.size, GRAIN, (lo, hi) -> {
+            IntBuffer local = new IntBuffer();
+            for (int i = lo; i < hi; i++) {
+                int v = items[i];
+                double distance = this.distanceOf(v);
+                for (int slot = this.offsets[v]; slot < this.offsets[v + 1]; slot++) {
+                    double weight = this.weights[slot];
+                    if ((weight <= this.delta) != light) {
+                        continue;
+                    }
+                    int target = this.targets[slot];
+                    if (this.lower(target, distance + weight)
+                            && this.claimed.getAndSet(target, currentPhase) != currentPhase) {
+                        local.add(target);
+                    }
+                }
+            }
+            synchronized (this.improved) {
+                this.improved.addAll(local);
+            }
+        });
+        for (int i = 0; i < this.improved.size; i++) {
+            this.addToBucket(this.improved.items[i]);
+        }
+    }
+
+    /*
+     * atomically lower the vertex's distance to the given one, returning
+     * whether it was actually lowered
+     */
+    private boolean lower(int vertex, double distance) {
+        long newBits = Double.doubleToRawLongBits(distance);
+        while (true) {
+            long oldBits = this.distances.get(vertex);
+            if (newBits >= oldBits) {
+                return false;
+            }
+            if (this.distances.compareAndSet(vertex, oldBits, newBits)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * A growable list of ints.
+     */
+    private static class IntBuffer {
+        private int[] items;
+        private int size;
+
+        public IntBuffer() {
+            this.items = new int[16];
+            this.size = 0;
+        }
+
+        public void add(int item) {
+            if (this.size == this.items.length) {
+                this.items = Arrays.copyOf(this.items, 2 * this.size);
+            }
+            this.items[this.size] = item;
+            this.size++;
+        }
+
+        public void addAll(IntBuffer other) {
+            if (this.size + other.size > this.items.length) {
+                this.items = Arrays.copyOf(this.items, Math.max(this.size + other.size, 2 * this.items.length));
+            }
+            System.arraycopy(other.items, 0, this.items, this.size, other.size);
+            this.size += other.size;
+        }
+
+        public void clear() {
+            this.size = 0;
+        }
+    }
+}
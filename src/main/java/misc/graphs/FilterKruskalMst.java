@@ -0,0 +1,160 @@
+package misc.graphs;
+
+import datastructures.concrete.IntDisjointSet;
+
+import java.util.Random;
+
+/**
+ * Computes a minimum spanning forest with Filter-Kruskal.
+ *
+ * Like quicksort, the edges are partitioned around a pivot, but the light
+ * half is fully processed before the heavy half is touched. By then most
+ * vertices are already connected, so the heavy half is first filtered down
+ * to the edges that still join two different components; on graphs with
+ * many more edges than vertices, most heavy edges are thrown away without
+ * ever being sorted.
+ *
+ * Edges are ranked by (weight, edge id), so the result is the same tree
+ * the other strategies return whenever weights are distinct.
+ */
+class FilterKruskalMst {
+    // ranges this small are sorted directly instead of partitioned
+    private static final int BASE_SIZE = 32;
+
+    private final int[] endpoint1;
+    private final int[] endpoint2;
+    private final double[] weights;
+    private final int numVertices;
+
+    // the ids of the edges still under consideration, permuted in place
+    private final int[] ids;
+    private final IntDisjointSet components;
+    private final boolean[] inTree;
+    private final Random rand;
+
+    public FilterKruskalMst(CompressedAdjacency csr) {
+        this.endpoint1 = csr.getEndpoint1();
+        this.endpoint2 = csr.getEndpoint2();
+        this.weights = csr.getEdgeWeights();
+        this.numVertices = csr.numVertices();
+        this.ids = new int[this.endpoint1.length];
+        for (int i = 0; i < this.ids.length; i++) {
+            this.ids[i] = i;
+        }
+        this.components = new IntDisjointSet(this.numVertices);
+        this.inTree = new boolean[this.endpoint1.length];
+        this.rand = new Random(this.numVertices);
+    }
+
+    /**
+     * Runs the algorithm and returns, for every edge id, whether that edge is
+     * part of the minimum spanning forest.
+     */
+    public boolean[] run() {
+        this.filterKruskal(0, this.ids.length);
+        return this.inTree;
+    }
+
+    private boolean isDone() {
+        return this.components.numSets() <= 1;
+    }
+
+    /*
+     * return true if edge a ranks below edge b
+     */
+    private boolean lighter(int a, int b) {
+        return this.weights[a] < this.weights[b] || (this.weights[a] == this.weights[b] && a < b);
+    }
+
+    /*
+     * process the edges in ids[lo, hi) in rank order
+     */
+    private void filterKruskal(int lo, int hi) {
+        while (hi - lo > BASE_SIZE && !this.isDone()) {
+            int mid = this.partition(lo, hi);
+            this.filterKruskal(lo, mid);
+            // the heavy half is handled by this loop rather than a second call
+            lo = mid;
+            hi = this.filter(mid, hi);
+        }
+        if (!this.isDone()) {
+            this.sortRange(lo, hi);
+            for (int i = lo; i < hi && !this.isDone(); i++) {
+                this.tryAdd(this.ids[i]);
+            }
+        }
+    }
+
+    /*
+     * reorder ids[lo, hi) so that the edges ranked at or below a pivot come
+     * first, and return where the heavier edges begin
+     */
+    private int partition(int lo, int hi) {
+        // the median of three distinct samples is neither the lightest nor the
+        // heaviest edge, so both halves are always non-empty
+        int a = this.ids[lo + this.rand.nextInt(hi - lo)];
+        int b = this.ids[lo + this.rand.nextInt(hi - lo)];
+        int c = this.ids[lo + this.rand.nextInt(hi - lo)];
+        while (a == b || b == c || a == c) {
+            b = this.ids[lo + this.rand.nextInt(hi - lo)];
+            c = this.ids[lo + this.rand.nextInt(hi - lo)];
+        }
+        int pivot = this.lighter(a, b)
+                ? (this.lighter(b, c) ? b : (this.lighter(a, c) ? c : a))
+                : (this.lighter(a, c) ? a : (this.lighter(b, c) ? c : b));
+
+        int i = lo;
+        int j = hi - 1;
+        while (i <= j) {
+            if (!this.lighter(pivot, this.ids[i])) {
+                i++;
+            } else {
+                int temp = this.ids[i];
+                this.ids[i] = this.ids[j];
+                this.ids[j] = temp;
+                j--;
+            }
+        }
+        return i;
+    }
+
+    /*
+     * drop every edge in ids[lo, hi) whose endpoints are already connected,
+     * and return the end of the remaining edges
+     */
+    private int filter(int lo, int hi) {
+        int end = lo;
+        for (int i = lo; i < hi; i++) {
+            int e = this.ids[i];
+            if (this.components.find(this.endpoint1[e]) != this.components.find(this.endpoint2[e])) {
+                this.ids[end] = e;
+                end++;
+            }
+        }
+        return end;
+    }
+
+    /*
+     * insertion sort ids[lo, hi) by rank; only used on small ranges
+     */
+    private void sortRange(int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int e = this.ids[i];
+            int j = i - 1;
+            while (j >= lo && this.lighter(e, this.ids[j])) {
+                this.ids[j + 1] = this.ids[j];
+                j--;
+            }
+            this.ids[j + 1] = e;
+        }
+    }
+
+    /*
+     * add the edge to the tree if it joins two different components
+     */
+    private void tryAdd(int e) {
+        if (this.components.union(this.endpoint1[e], this.endpoint2[e])) {
+            this.inTree[e] = true;
+        }
+    }
+}
@@ -1,18 +1,18 @@
 package misc.graphs;
 
-import datastructures.concrete.ArrayDisjointSet;
-import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleKeyIntHeap;
 import datastructures.concrete.DoubleLinkedList;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IDisjointSet;
+import datastructures.concrete.IntDisjointSet;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
 import datastructures.interfaces.IList;
-import datastructures.interfaces.IPriorityQueue;
 import datastructures.interfaces.ISet;
 import misc.exceptions.NoPathExistsException;
 //import misc.exceptions.NotYetImplementedException;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Represents an undirected, weighted graph, possibly containing self-loops, parallel edges,
  * and unconnected components.
@@ -58,9 +58,27 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
     //
     // Working with generics is really not the focus of this class, so if you
     // get stuck, let us know we'll try and help you get unstuck as best as we can.
-    private IDictionary<V, ISet<E>> graph;
+
+    // Thresholds MstStrategy.AUTO uses to pick an algorithm.
+    private static final int PARALLEL_MIN_CORES = 4;
+    private static final int PARALLEL_MIN_EDGES = 1 << 20;
+    private static final int DENSE_EDGES_PER_VERTEX = 2;
+
     private IList<V> vertices; 
     private IList<E> edges;
+    // Every distinct vertex gets a dense id in [0, numIds), so that algorithms
+    // can keep their per-vertex state in plain arrays instead of dictionaries.
+    private ObjectIntDictionary<V> vertexIds;
+    private V[] vertexArray;
+    private int numIds;
+    // The CSR layout every algorithm runs on; built by freeze(), null until then.
+    private volatile CompressedAdjacency adjacency;
+    // A searcher kept between findShortestPath* calls so that its O(V) arrays
+    // are reused; empty while a query has it out. Concurrent queries that
+    // find it empty simply make their own. This is not a ThreadLocal, since
+    // a thread's map would keep every graph it ever searched alive.
+    private final AtomicReference<ShortestPathSearcher<V, E>> idleSearcher;
+
     /**
      * Constructs a new graph based on the given vertices and edges.
      *
@@ -69,29 +87,52 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      *                                   present in the 'vertices' list
      */
     public Graph(IList<V> vertices, IList<E> edges) {
-        this.graph = new ChainedHashDictionary<>();
+        this(vertices, edges, false);
+    }
+
+    /**
+     * Constructs a new graph based on the given vertices and edges, optionally
+     * skipping the per-edge validation.
+     *
+     * Pass 'true' only for input that is known to be valid, such as the rooms and
+     * walls produced by a maze generator. A trusted graph does not check edge
+     * weights at all; an edge touching an unknown vertex is still rejected, but
+     * only when the graph is frozen rather than here.
+     *
+     * @throws IllegalArgumentException  if the input is not trusted and any of the
+     *                                   edges have a negative weight
+     * @throws IllegalArgumentException  if the input is not trusted and one of the
+     *                                   edges connects to a vertex not present in the
+     *                                   'vertices' list
+     */
+    public Graph(IList<V> vertices, IList<E> edges, boolean trustedInput) {
         this.vertices = vertices;
         this.edges = edges;
 
-        for (E edge : edges) { // NOW IT'S O(E) instead of O(VE)!!!!!!
-            if (edge.getWeight() < 0.0) {
-                throw new IllegalArgumentException("edge is negative");
+        this.vertexIds = new ObjectIntDictionary<>(vertices.size());
+        this.vertexArray = makeArray(vertices.size());
+        this.numIds = 0;
+        for (V vertex : vertices) {
+            if (!this.vertexIds.containsKey(vertex)) {
+                this.vertexIds.put(vertex, this.numIds);
+                this.vertexArray[this.numIds] = vertex;
+                this.numIds++;
             }
-            V edgeVertex1 = edge.getVertex1();
-            V edgeVertex2 = edge.getVertex2();
-            if (!vertices.contains(edgeVertex1) || !vertices.contains(edgeVertex2)) {
-                throw new IllegalArgumentException("edge is not valid");
+        }
+
+        if (!trustedInput) {
+            for (E edge : edges) { // hashed lookups, so this is O(E) rather than O(VE)
+                if (edge.getWeight() < 0.0) {
+                    throw new IllegalArgumentException("edge is negative");
+                }
+                if (!this.vertexIds.containsKey(edge.getVertex1())
+                        || !this.vertexIds.containsKey(edge.getVertex2())) {
+                    throw new IllegalArgumentException("edge is not valid");
+                }
             }
-            
-            if (!this.graph.containsKey(edgeVertex1)) {
-                this.graph.put(edgeVertex1, new ChainedHashSet<>());
-            } 
-            if (!this.graph.containsKey(edgeVertex2)) {
-                this.graph.put(edgeVertex2, new ChainedHashSet<>());
-            } 
-            this.graph.get(edgeVertex1).add(edge);
-            this.graph.get(edgeVertex2).add(edge);  // since this graph is undirected!!          
         }
+        this.adjacency = null;
+        this.idleSearcher = new AtomicReference<>();
     }
 
     /**
@@ -104,6 +145,116 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
         this(setToList(vertices), setToList(edges));
     }
 
+    /**
+     * The set-based counterpart of Graph(IList, IList, boolean).
+     */
+    public Graph(ISet<V> vertices, ISet<E> edges, boolean trustedInput) {
+        this(setToList(vertices), setToList(edges), trustedInput);
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type T.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] makeArray(int size) {
+        return (T[]) new Object[size];
+    }
+
+    /**
+     * Returns the index of the given vertex: its position among the distinct
+     * vertices, in the order they were given to the constructor. Arrays
+     * returned by this graph, such as findDistancesFrom's, use these indices.
+     *
+     * @throws IllegalArgumentException  if the vertex is not part of this graph
+     */
+    public int indexOf(V vertex) {
+        return this.idOf(vertex);
+    }
+
+    /*
+     * return the dense id of the given vertex
+     * @throws IllegalArgumentException if the vertex is not part of this graph
+     */
+    int idOf(V vertex) {
+        int id = this.vertexIds.getOrDefault(vertex, -1);
+        if (id == -1) {
+            throw new IllegalArgumentException("vertex is not in the graph");
+        }
+        return id;
+    }
+
+    /*
+     * return the vertex with the given dense id
+     */
+    V vertexOf(int id) {
+        return this.vertexArray[id];
+    }
+
+    /*
+     * return the number of dense ids in use; every id is in [0, numVertexIds())
+     */
+    int numVertexIds() {
+        return this.numIds;
+    }
+
+    /*
+     * return the edge with the given id (its position in the edge list)
+     */
+    @SuppressWarnings("unchecked")
+    E edgeOf(int edgeId) {
+        return (E) this.adjacency().getEdge(edgeId);
+    }
+
+    /*
+     * return the CSR layout of this graph, freezing it first if needed
+     */
+    CompressedAdjacency adjacency() {
+        CompressedAdjacency result = this.adjacency;
+        if (result == null) {
+            this.freeze();
+            result = this.adjacency;
+        }
+        return result;
+    }
+
+    /**
+     * Lays the graph out in compressed sparse row (CSR) form: every vertex and
+     * edge gets a dense int id, and each vertex's neighbors, edge weights and
+     * edge ids are stored contiguously in flat arrays. All of the search and
+     * spanning tree algorithms run on this layout.
+     *
+     * The graph freezes itself on the first algorithm call, so calling this
+     * is never required; doing it eagerly just moves the one-time O(V + E)
+     * cost out of the first query. Calling it again does nothing.
+     */
+    public synchronized void freeze() {
+        if (this.adjacency != null) {
+            return;
+        }
+        int numEdges = this.edges.size();
+        int[] endpoint1 = new int[numEdges];
+        int[] endpoint2 = new int[numEdges];
+        double[] weights = new double[numEdges];
+        Object[] edgeArray = new Object[numEdges];
+        int edgeId = 0;
+        for (E edge : this.edges) {
+            endpoint1[edgeId] = this.idOf(edge.getVertex1());
+            endpoint2[edgeId] = this.idOf(edge.getVertex2());
+            weights[edgeId] = edge.getWeight();
+            edgeArray[edgeId] = edge;
+            edgeId++;
+        }
+        this.adjacency = new CompressedAdjacency(this.numIds, endpoint1, endpoint2, weights, edgeArray);
+    }
+
+    /**
+     * Returns 'true' if freeze() has already run on this graph, 'false' otherwise.
+     */
+    public boolean isFrozen() {
+        return this.adjacency != null;
+    }
+
     // You shouldn't need to call this helper method -- it only needs to be used
     // in the constructor above.
     private static <T> IList<T> setToList(ISet<T> set) {
@@ -133,30 +284,84 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * this graph.
      *
      * If there exists multiple valid MSTs, return any one of them.
+     * Edges are ranked by getWeight(). The algorithm is picked automatically
+     * (see MstStrategy.AUTO).
      *
      * Precondition: the graph does not contain any unconnected components.
      */
     public ISet<E> findMinimumSpanningTree() {
-        ISet<E> resultSet = new ChainedHashSet<>();
-        IPriorityQueue<E> edgeHeap = new ArrayHeap<>();
-        IDisjointSet<V> verticesSet = new ArrayDisjointSet<>();
-        
-        for (E edge : this.edges) {
-            edgeHeap.insert(edge);
+        return this.findMinimumSpanningTree(MstStrategy.AUTO);
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, computed with the given algorithm. Every strategy returns a
+     * tree of the same total weight.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public ISet<E> findMinimumSpanningTree(MstStrategy strategy) {
+        switch (strategy) {
+            case KRUSKAL:
+                return this.kruskal();
+            case FILTER_KRUSKAL:
+                return this.toEdgeSet(new FilterKruskalMst(this.adjacency()).run());
+            case BORUVKA:
+                return this.toEdgeSet(new BoruvkaMst(this.adjacency()).run());
+            case PRIM:
+                return this.toEdgeSet(new PrimMst(this.adjacency()).run());
+            case AUTO:
+                return this.findMinimumSpanningTree(this.chooseMstStrategy());
+            default:
+                throw new IllegalArgumentException("unknown strategy " + strategy);
         }
-        for (V vertex : this.vertices) {
-            verticesSet.makeSet(vertex);
+    }
+
+    /*
+     * pick the MST strategy AUTO stands for. Boruvka only pays off when its
+     * rounds can be spread over several cores; otherwise Prim wins once each
+     * vertex has a few edges, and Filter-Kruskal on near-tree graphs, where
+     * it stops after looking at little more than V edges.
+     */
+    private MstStrategy chooseMstStrategy() {
+        int numEdges = this.edges.size();
+        if (ForkJoinPool.getCommonPoolParallelism() >= PARALLEL_MIN_CORES
+                && numEdges >= PARALLEL_MIN_EDGES) {
+            return MstStrategy.BORUVKA;
+        } else if (numEdges >= DENSE_EDGES_PER_VERTEX * this.numIds) {
+            return MstStrategy.PRIM;
+        } else {
+            return MstStrategy.FILTER_KRUSKAL;
         }
+    }
+
+    /*
+     * return the set of edges whose ids are marked in the given array
+     */
+    private ISet<E> toEdgeSet(boolean[] marked) {
+        ISet<E> resultSet = new ChainedHashSet<>();
+        for (int edgeId = 0; edgeId < marked.length; edgeId++) {
+            if (marked[edgeId]) {
+                resultSet.add(this.edgeOf(edgeId));
+            }
+        }
+        return resultSet;
+    }
+
+    private ISet<E> kruskal() {
+        CompressedAdjacency csr = this.adjacency();
+        int[] endpoint1 = csr.getEndpoint1();
+        int[] endpoint2 = csr.getEndpoint2();
+        ISet<E> resultSet = new ChainedHashSet<>();
+        // edge ids keyed by weight, heapified in O(E)
+        DoubleKeyIntHeap edgeHeap = new DoubleKeyIntHeap(csr.getEdgeWeights());
+        // vertices already have dense ids, so the sets need no hashing
+        IntDisjointSet verticesSet = new IntDisjointSet(this.numIds);
         
-        int index = 0;
-        while (index < this.vertices.size() - 1) {
-            E edge = edgeHeap.removeMin();
-            V ver1 = edge.getVertex1();
-            V ver2 = edge.getVertex2();
-            if (verticesSet.findSet(ver1) != verticesSet.findSet(ver2)) {
-                verticesSet.union(ver1, ver2);
-                resultSet.add(edge);
-                index++;
+        while (verticesSet.numSets() > 1 && !edgeHeap.isEmpty()) {
+            int edgeId = edgeHeap.removeMin();
+            if (verticesSet.union(endpoint1[edgeId], endpoint2[edgeId])) {
+                resultSet.add(this.edgeOf(edgeId));
             }
         }
         return resultSet;
@@ -175,109 +380,189 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * @throws NoPathExistsException  if there does not exist a path from the start to the end
      */
     public IList<E> findShortestPathBetween(V start, V end) {
-        
-        IList<E> result = new DoubleLinkedList<>();
-        
-        IDictionary<V, PseudoVertex<V, E>> pseudovertices = new ChainedHashDictionary<>();
-        
-        for (V vertex : this.vertices) {
-            pseudovertices.put(vertex, new PseudoVertex<V, E>(vertex));
-            // this already initializes all vertices to infinity
-            // see the PseudoVeretex class
+        // the search stops as soon as 'end' is settled
+        ShortestPathSearcher<V, E> searcher = this.borrowSearcher();
+        try {
+            return searcher.findShortestPathBetween(start, end);
+        } finally {
+            this.idleSearcher.set(searcher);
         }
+    }
 
-        pseudovertices.put(start, new PseudoVertex<V, E>(start, 0.0));
-        
-        ISet<PseudoVertex<V, E>> processed = new ChainedHashSet<>();
-        
-        IPriorityQueue<PseudoVertex<V, E>> vertexHeap = new ArrayHeap<>();
-        
-        vertexHeap.insert(pseudovertices.get(start));
-
-        while (!vertexHeap.isEmpty()) {
-            PseudoVertex<V, E> currentVer = vertexHeap.removeMin();
-            V current = currentVer.getVertex(); // gets current vertex
-            double currentDist = currentVer.getDistance();
-            ISet<E> currentEdges = this.graph.get(current);
-
-            for (E edge : currentEdges) { // pick the edge attached to the current
-                V other = edge.getOtherVertex(current);
-                if (!processed.contains(pseudovertices.get(other))) { // processed vertex is skipped!
-                    PseudoVertex<V, E> otherpseudo = pseudovertices.get(other);
-
-                    double distance = otherpseudo.getDistance();
-                    
-                    double newDistance = currentDist + edge.getWeight();
-                    
-                    if (newDistance < distance) {
-                        otherpseudo.setDistance(newDistance);
-                        otherpseudo.setEdge(edge); // not only setting edge, but implicitly storing predecessor
-                        vertexHeap.insert(otherpseudo);
-                        pseudovertices.put(other, otherpseudo); // update the pseudovertices (distance and predecessor)
-                        // decrease Priority problem is solved by creating class of pseudovertex 
-                    }
-                    
-                }
-            }
-            processed.add(currentVer);
-        }
-        
-        V currentVertex = end;
-        while (!currentVertex.equals(start)) { // we are backtracking from the end, using predecessor
-            PseudoVertex<V, E> current = pseudovertices.get(currentVertex);
-            if (current.getEdge() == null) { 
-                // this also handles the cycle without the end/start since the choice of implementation
-                throw new NoPathExistsException("no path from start to end");
-            }
-            result.insert(0, (E) current.getEdge());
-            currentVertex = current.callPredecessor(); // predecessor is the same vertex after a while...
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * like findShortestPathBetween(start, end), but uses A* search guided by the
+     * given heuristic so that fewer vertices are explored.
+     *
+     * The heuristic must be consistent (see Heuristic), or the returned path
+     * may not be the shortest one.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, Heuristic<V> heuristic) {
+        ShortestPathSearcher<V, E> searcher = this.borrowSearcher();
+        try {
+            return searcher.findShortestPathBetween(start, end, heuristic);
+        } finally {
+            this.idleSearcher.set(searcher);
         }
-        return result;
     }
-    
-    private static class PseudoVertex<V, E extends Edge<V>> implements Comparable<PseudoVertex<V, E>> {
-        private V vertex;
-        private E edge; // edge coming to this vertex
-        private double distance;
-        
-        public PseudoVertex(V vertex) {
-            this(vertex, Double.POSITIVE_INFINITY);            
-        }
-        
-        public PseudoVertex(V vertex, double distance) {
-            this.vertex = vertex;
-            this.distance = distance; 
-            this.edge = null;       
-        }
-        
-        public void setEdge(E edge) {
-            this.edge = edge;
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * like findShortestPathBetween(start, end), but searches from both ends at
+     * once and stops where the two searches meet. The path has the same total
+     * weight, and on long queries about half as many vertices are explored.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBidirectional(V start, V end) {
+        ShortestPathSearcher<V, E> searcher = this.borrowSearcher();
+        try {
+            return searcher.findShortestPathBidirectional(start, end);
+        } finally {
+            this.idleSearcher.set(searcher);
         }
+    }
+
+    /*
+     * take the idle searcher, or make a new one if another query has it;
+     * callers hand it back once their query is done
+     */
+    private ShortestPathSearcher<V, E> borrowSearcher() {
+        ShortestPathSearcher<V, E> searcher = this.idleSearcher.getAndSet(null);
+        return searcher != null ? searcher : new ShortestPathSearcher<>(this);
+    }
+
+    /**
+     * Preprocesses this graph into a ContractionHierarchy, which answers
+     * shortest path queries far faster than a search on the graph itself.
+     *
+     * Preprocessing costs much more than a single query, so this is only worth
+     * it for a graph that will be queried many times.
+     */
+    public ContractionHierarchy<V, E> buildContractionHierarchy() {
+        return new ContractionHierarchy<>(this);
+    }
 
-        public void setDistance(double distance) {
-            this.distance = distance; 
+    /**
+     * Returns the number of edges on the path from the start to the end with
+     * the fewest edges, ignoring edge weights.
+     *
+     * This runs a breadth-first search, which is much cheaper than
+     * findShortestPathBetween when only the number of hops matters.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of this graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public int findHopCountBetween(V start, V end) {
+        int hops = new BreadthFirstSearch(this.adjacency()).search(this.idOf(start), this.idOf(end));
+        if (hops < 0) {
+            throw new NoPathExistsException("no path from start to end");
         }
-        
-        public V callPredecessor() {
-            return this.edge.getOtherVertex(this.vertex);
+        return hops;
+    }
+
+    /**
+     * Returns 'true' if there is a path from the start to the end, 'false' otherwise.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of this graph
+     */
+    public boolean isConnected(V start, V end) {
+        return new BreadthFirstSearch(this.adjacency()).search(this.idOf(start), this.idOf(end)) >= 0;
+    }
+
+    /**
+     * Returns 'true' if there is a path between every pair of vertices, 'false'
+     * otherwise. A graph with no vertices is connected.
+     */
+    public boolean isConnected() {
+        if (this.numIds == 0) {
+            return true;
         }
-        
-        public E getEdge() {
-            return this.edge;
+        BreadthFirstSearch search = new BreadthFirstSearch(this.adjacency());
+        search.search(0, -1);
+        return search.numVisited() == this.numIds;
+    }
+
+    /**
+     * Labels every vertex with the connected component it belongs to, and
+     * returns the labels indexed by indexOf(vertex). Labels are numbered from
+     * 0 in order of each component's lowest index, so the number of
+     * components is one more than the largest label.
+     */
+    public int[] connectedComponents() {
+        int[] labels = new int[this.numIds];
+        BreadthFirstSearch search = new BreadthFirstSearch(this.adjacency());
+        int numComponents = 0;
+        for (int id = 0; id < this.numIds; id++) {
+            if (search.isVisited(id)) {
+                continue;
+            }
+            int first = search.numVisited();
+            search.search(id, -1);
+            for (int i = first; i < search.numVisited(); i++) {
+                labels[search.visitedAt(i)] = numComponents;
+            }
+            numComponents++;
         }
-        
-        public V getVertex() {
-            return this.vertex;
+        return labels;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to every vertex,
+     * indexed by indexOf(vertex). Unreachable vertices get positive infinity.
+     *
+     * The search runs delta-stepping in parallel on the common fork/join pool,
+     * so it is meant for one-to-all queries on large graphs; for a single
+     * destination, findShortestPathBetween stops much earlier.
+     *
+     * @throws IllegalArgumentException  if the source is not part of this graph
+     */
+    public double[] findDistancesFrom(V source) {
+        int sourceId = this.idOf(source);
+        CompressedAdjacency csr = this.adjacency();
+        // buckets as wide as the average edge keep most edges light
+        double totalWeight = 0.0;
+        for (double weight : csr.getEdgeWeights()) {
+            totalWeight += weight;
         }
-        
-        public double getDistance() {
-            return this.distance;
+        double delta = totalWeight / Math.max(1, csr.numEdges());
+        if (!(delta > 0.0) || Double.isInfinite(delta)) {
+            delta = 1.0;
         }
+        return new DeltaSteppingSssp(csr, delta).run(sourceId);
+    }
 
-        @Override
-        public int compareTo(PseudoVertex<V, E> o) {
-            return Double.compare(this.distance, o.getDistance());
+    /**
+     * Picks the given number of landmark vertices, each as far as possible
+     * from the ones before it, and returns the ALT heuristic using them.
+     *
+     * This runs one full shortest path search per landmark. The result's
+     * LandmarkTable can be serialized and reused for an identical graph.
+     *
+     * @throws IllegalArgumentException  if numLandmarks is not positive
+     */
+    public LandmarkHeuristic<V> buildLandmarkHeuristic(int numLandmarks) {
+        if (numLandmarks <= 0) {
+            throw new IllegalArgumentException("need at least one landmark");
         }
+        return new LandmarkHeuristic<>(this, LandmarkTable.selectFarthest(this.adjacency(), numLandmarks));
+    }
 
+    /**
+     * Returns the ALT heuristic using the given landmark vertices, such as
+     * the corner rooms of a grid maze.
+     *
+     * @throws IllegalArgumentException  if any landmark is not part of the graph
+     */
+    public LandmarkHeuristic<V> buildLandmarkHeuristic(IList<V> landmarks) {
+        int[] landmarkIds = new int[landmarks.size()];
+        int count = 0;
+        for (V landmark : landmarks) {
+            landmarkIds[count] = this.idOf(landmark);
+            count++;
+        }
+        return new LandmarkHeuristic<>(this, LandmarkTable.compute(this.adjacency(), landmarkIds));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package misc.graphs;
+
+/**
+ * Estimates the remaining distance between two vertices, for guiding A* search.
+ *
+ * A* only returns shortest paths if the heuristic is consistent: for every
+ * edge (u, v) with weight w, estimate(u, t) <= w + estimate(v, t), and
+ * estimate(t, t) == 0. Straight-line distance is consistent whenever edge
+ * weights are at least the straight-line distance between their endpoints.
+ */
+public interface Heuristic<V> {
+    /**
+     * Returns a lower bound on the length of the shortest path from the vertex
+     * to the target. The value must never be negative.
+     */
+    public double estimate(V vertex, V target);
+}
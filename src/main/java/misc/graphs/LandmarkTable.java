@@ -0,0 +1,156 @@
+package misc.graphs;
+
+import java.io.Serializable;
+
+/**
+ * Precomputed shortest path distances from a few landmark vertices to every
+ * vertex of a Graph, for the ALT (A*, landmarks, triangle inequality)
+ * heuristic; see LandmarkHeuristic.
+ *
+ * Each landmark's distances are one double[] indexed by vertex id, so a table
+ * for k landmarks over V vertices takes 8kV bytes. Vertex ids are the order in
+ * which vertices were first given to the Graph constructor. The table holds
+ * nothing but those arrays, so it can be serialized and later reused with any
+ * graph built from the same vertices and edges in the same order.
+ */
+public class LandmarkTable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int numVertices;
+    private final int numEdges;
+    private final int[] landmarks;
+    // distances[i][v] is the distance from landmark i to vertex v,
+    // or positive infinity if v cannot be reached from it
+    private final double[][] distances;
+
+    private LandmarkTable(int numVertices, int numEdges, int[] landmarks, double[][] distances) {
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /*
+     * build a table for the given landmark ids
+     */
+    static LandmarkTable compute(CompressedAdjacency csr, int[] landmarks) {
+        SearchFrontier frontier = new SearchFrontier(csr.numVertices());
+        double[][] distances = new double[landmarks.length][];
+        for (int i = 0; i < landmarks.length; i++) {
+            distances[i] = distancesFrom(csr, frontier, landmarks[i]);
+        }
+        return new LandmarkTable(csr.numVertices(), csr.numEdges(), landmarks, distances);
+    }
+
+    /*
+     * build a table for 'count' landmarks picked by farthest-point selection:
+     * the first is the vertex farthest from vertex 0, and each next one is the
+     * vertex farthest from all landmarks chosen so far. Landmarks on the edge
+     * of the graph give the tightest bounds, and a vertex no landmark reaches
+     * counts as farthest, so every component gets a landmark if possible.
+     */
+    static LandmarkTable selectFarthest(CompressedAdjacency csr, int count) {
+        int numVertices = csr.numVertices();
+        count = Math.min(count, numVertices);
+        SearchFrontier frontier = new SearchFrontier(numVertices);
+        int[] landmarks = new int[count];
+        double[][] distances = new double[count][];
+        if (count > 0) {
+            // closest[v] is the distance from v to the nearest landmark so far
+            double[] closest = distancesFrom(csr, frontier, 0);
+            for (int i = 0; i < count; i++) {
+                landmarks[i] = farthest(closest);
+                distances[i] = distancesFrom(csr, frontier, landmarks[i]);
+                for (int v = 0; v < numVertices; v++) {
+                    closest[v] = i == 0 ? distances[i][v] : Math.min(closest[v], distances[i][v]);
+                }
+            }
+        }
+        return new LandmarkTable(numVertices, csr.numEdges(), landmarks, distances);
+    }
+
+    /*
+     * return the index of the largest entry, preferring the first on ties
+     */
+    private static int farthest(double[] distances) {
+        int result = 0;
+        for (int v = 1; v < distances.length; v++) {
+            if (distances[v] > distances[result]) {
+                result = v;
+            }
+        }
+        return result;
+    }
+
+    /*
+     * run a full Dijkstra search from the source and return every distance
+     */
+    private static double[] distancesFrom(CompressedAdjacency csr, SearchFrontier frontier, int source) {
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        int[] edgeIds = csr.getEdgeIds();
+
+        frontier.reset();
+        frontier.relax(source, 0.0, -1, 0.0);
+        while (!frontier.isEmpty()) {
+            int current = frontier.settleNext();
+            double currentDist = frontier.distanceTo(current);
+            for (int slot = offsets[current]; slot < offsets[current + 1]; slot++) {
+                int other = targets[slot];
+                if (!frontier.isSettled(other)) {
+                    double newDistance = currentDist + weights[slot];
+                    frontier.relax(other, newDistance, edgeIds[slot], newDistance);
+                }
+            }
+        }
+
+        double[] result = new double[csr.numVertices()];
+        for (int v = 0; v < result.length; v++) {
+            result[v] = frontier.isReached(v) ? frontier.distanceTo(v) : Double.POSITIVE_INFINITY;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of landmarks.
+     */
+    public int numLandmarks() {
+        return this.landmarks.length;
+    }
+
+    /**
+     * Returns the number of vertices of the graph this table was built for.
+     */
+    public int numVertices() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns the number of edges of the graph this table was built for.
+     */
+    public int numEdges() {
+        return this.numEdges;
+    }
+
+    /*
+     * return a lower bound on the distance between the two vertices. By the
+     * triangle inequality, |d(L, t) - d(L, v)| <= d(v, t) for every landmark L.
+     * If a landmark reaches exactly one of them, they are not connected at all.
+     */
+    double lowerBound(int vertex, int target) {
+        double result = 0.0;
+        for (double[] fromLandmark : this.distances) {
+            double toVertex = fromLandmark[vertex];
+            double toTarget = fromLandmark[target];
+            if (toVertex == Double.POSITIVE_INFINITY || toTarget == Double.POSITIVE_INFINITY) {
+                if (toVertex != toTarget) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                continue;
+            }
+            result = Math.max(result, Math.abs(toTarget - toVertex));
+        }
+        return result;
+    }
+}
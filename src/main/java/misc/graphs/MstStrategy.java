@@ -0,0 +1,42 @@
+package misc.graphs;
+
+/**
+ * The algorithms Graph.findMinimumSpanningTree can use. Every strategy returns
+ * a spanning tree of the same total weight; they differ only in speed.
+ */
+public enum MstStrategy {
+    /**
+     * Kruskal's algorithm: take edges cheapest first, skipping any that would
+     * close a cycle. Sequential.
+     */
+    KRUSKAL,
+
+    /**
+     * Filter-Kruskal: partition the edges around a pivot like quicksort, solve
+     * the light half first, then discard heavy edges whose endpoints are
+     * already connected before sorting what is left. Best when there are many
+     * more edges than vertices.
+     */
+    FILTER_KRUSKAL,
+
+    /**
+     * Boruvka's algorithm: every component picks its cheapest outgoing edge in
+     * parallel, then the picked edges are contracted. Takes O(log V) rounds,
+     * each of which scans the edges on all available cores.
+     */
+    BORUVKA,
+
+    /**
+     * Prim's algorithm: grow one tree from a vertex, keeping every vertex
+     * outside it in an indexed heap keyed by its cheapest edge into the tree.
+     * The heap holds at most V entries, so this suits dense graphs.
+     */
+    PRIM,
+
+    /**
+     * Pick one of the strategies above from the size and density of the
+     * graph and the number of available processors. This is the strategy
+     * findMinimumSpanningTree() uses when none is given.
+     */
+    AUTO
+}
@@ -0,0 +1,75 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleKeyIntHeap;
+
+/**
+ * Computes a minimum spanning forest with Prim's algorithm.
+ *
+ * The tree grows from one vertex at a time. Every vertex outside the tree
+ * sits in an indexed heap keyed by its cheapest known edge into the tree,
+ * and that key is lowered in place (decreaseKey) whenever a cheaper edge is
+ * found. The heap never holds more than V entries, no matter how many edges
+ * there are, which is why Prim suits dense graphs.
+ */
+class PrimMst {
+    private static final int NONE = -1;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edgeIds;
+    private final int numVertices;
+    private final int numEdges;
+
+    public PrimMst(CompressedAdjacency csr) {
+        this.offsets = csr.getOffsets();
+        this.targets = csr.getTargets();
+        this.weights = csr.getWeights();
+        this.edgeIds = csr.getEdgeIds();
+        this.numVertices = csr.numVertices();
+        this.numEdges = csr.numEdges();
+    }
+
+    /**
+     * Runs the algorithm and returns, for every edge id, whether that edge is
+     * part of the minimum spanning forest.
+     */
+    public boolean[] run() {
+        boolean[] inTree = new boolean[this.numEdges];
+        boolean[] visited = new boolean[this.numVertices];
+        // bestEdge[v] is the cheapest known edge from the tree to v
+        int[] bestEdge = new int[this.numVertices];
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(this.numVertices);
+
+        // restarting from every unvisited vertex also spans disconnected graphs
+        for (int root = 0; root < this.numVertices; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            bestEdge[root] = NONE;
+            heap.insert(root, 0.0);
+            while (!heap.isEmpty()) {
+                int current = heap.removeMin();
+                visited[current] = true;
+                if (bestEdge[current] != NONE) {
+                    inTree[bestEdge[current]] = true;
+                }
+                for (int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                    int other = this.targets[slot];
+                    if (visited[other]) {
+                        continue;
+                    }
+                    double weight = this.weights[slot];
+                    if (!heap.contains(other)) {
+                        bestEdge[other] = this.edgeIds[slot];
+                        heap.insert(other, weight);
+                    } else if (weight < heap.keyOf(other)) {
+                        bestEdge[other] = this.edgeIds[slot];
+                        heap.decreaseKey(other, weight);
+                    }
+                }
+            }
+        }
+        return inTree;
+    }
+}
@@ -0,0 +1,111 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleKeyIntHeap;
+
+/**
+ * The state of one Dijkstra-style search over dense int vertex ids: tentative
+ * distances, the id of the edge each vertex was reached through, and the heap
+ * of reached but unsettled vertices.
+ *
+ * The arrays are allocated once and reused by every search. Each entry
+ * carries the generation of the search that last wrote it, so reset() only
+ * bumps the generation instead of clearing arrays the size of the graph, and
+ * a search costs time proportional to the part of the graph it explores.
+ */
+class SearchFrontier {
+    private final double[] distTo;
+    // id of the edge each reached vertex was reached through, -1 at a root
+    private final int[] edgeTo;
+    private final int[] stamps;
+    // settled[v] == generation once the vertex is removed from the heap
+    private final int[] settled;
+    private final DoubleKeyIntHeap heap;
+    private int generation;
+
+    /**
+     * Creates a frontier for vertices 0 through size - 1.
+     */
+    public SearchFrontier(int size) {
+        this.distTo = new double[size];
+        this.edgeTo = new int[size];
+        this.stamps = new int[size];
+        this.settled = new int[size];
+        this.heap = new DoubleKeyIntHeap(size);
+        this.generation = 0;
+    }
+
+    /**
+     * Forgets the previous search, leaving every vertex unreached.
+     */
+    public void reset() {
+        this.heap.clear();
+        this.generation++;
+        if (this.generation == 0) {
+            // the counter wrapped around, so old stamps could look current again
+            for (int i = 0; i < this.stamps.length; i++) {
+                this.stamps[i] = 0;
+                this.settled[i] = 0;
+            }
+            this.generation = 1;
+        }
+    }
+
+    public boolean isReached(int vertex) {
+        return this.stamps[vertex] == this.generation;
+    }
+
+    public boolean isSettled(int vertex) {
+        return this.settled[vertex] == this.generation;
+    }
+
+    public boolean isEmpty() {
+        return this.heap.isEmpty();
+    }
+
+    public double peekMinKey() {
+        return this.heap.peekMinKey();
+    }
+
+    /**
+     * Returns the tentative distance of a reached vertex.
+     */
+    public double distanceTo(int vertex) {
+        return this.distTo[vertex];
+    }
+
+    /**
+     * Returns the id of the edge a reached vertex was reached through, or -1
+     * if it is a root of the search.
+     */
+    public int edgeTo(int vertex) {
+        return this.edgeTo[vertex];
+    }
+
+    /**
+     * Records a path of the given length to the vertex through the given
+     * edge, if it is the first or the shortest one seen so far; 'key' is the
+     * vertex's priority in the heap. Pass -1 as the edge for a root.
+     */
+    public void relax(int vertex, double distance, int edgeId, double key) {
+        if (!this.isReached(vertex)) {
+            this.stamps[vertex] = this.generation;
+            this.distTo[vertex] = distance;
+            this.edgeTo[vertex] = edgeId;
+            this.heap.insert(vertex, key);
+        } else if (distance < this.distTo[vertex]) {
+            this.distTo[vertex] = distance;
+            this.edgeTo[vertex] = edgeId;
+            this.heap.decreaseKey(vertex, key);
+        }
+    }
+
+    /**
+     * Removes the unsettled vertex with the smallest key from the heap, marks
+     * it settled and returns it.
+     */
+    public int settleNext() {
+        int vertex = this.heap.removeMin();
+        this.settled[vertex] = this.generation;
+        return vertex;
+    }
+}
@@ -0,0 +1,219 @@
+package misc.graphs;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoPathExistsException;
+
+/**
+ * Answers repeated point-to-point shortest path queries on a single Graph.
+ *
+ * Each query runs Dijkstra's algorithm, A* when given a Heuristic, or a
+ * bidirectional Dijkstra, and stops as soon as the answer is known. The
+ * search state lives in SearchFrontier objects that are kept between
+ * queries, so a query costs time proportional to the part of the graph it
+ * actually explores rather than to the size of the graph.
+ *
+ * A searcher is not thread-safe; give each thread its own.
+ */
+public class ShortestPathSearcher<V, E extends Edge<V> & Comparable<E>> {
+    private final Graph<V, E> graph;
+    // the graph's CSR arrays (see CompressedAdjacency)
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edgeIds;
+    private final int[] endpoint1;
+    private final int[] endpoint2;
+
+    // the search from the start; the search from the end is only created by
+    // the first bidirectional query
+    private final SearchFrontier forward;
+    private SearchFrontier backward;
+    // heuristic estimate of each vertex the forward search reached, computed once per query
+    private final double[] estimates;
+    private int verticesSettled;
+
+    /**
+     * Creates a searcher over the given graph.
+     */
+    public ShortestPathSearcher(Graph<V, E> graph) {
+        CompressedAdjacency csr = graph.adjacency();
+        this.graph = graph;
+        this.offsets = csr.getOffsets();
+        this.targets = csr.getTargets();
+        this.weights = csr.getWeights();
+        this.edgeIds = csr.getEdgeIds();
+        this.endpoint1 = csr.getEndpoint1();
+        this.endpoint2 = csr.getEndpoint2();
+        this.forward = new SearchFrontier(csr.numVertices());
+        this.backward = null;
+        this.estimates = new double[csr.numVertices()];
+        this.verticesSettled = 0;
+    }
+
+    /*
+     * start a new query, invalidating every entry written by earlier ones
+     */
+    private void nextGeneration() {
+        this.forward.reset();
+        if (this.backward != null) {
+            this.backward.reset();
+        }
+        this.verticesSettled = 0;
+    }
+
+    /*
+     * return the vertex at the other end of the edge
+     */
+    private int otherEnd(int edgeId, int vertex) {
+        return this.endpoint1[edgeId] == vertex ? this.endpoint2[edgeId] : this.endpoint1[edgeId];
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * exactly as Graph.findShortestPathBetween does.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of the graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end) {
+        return this.findShortestPathBetween(start, end, null);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * using A* search guided by the given heuristic. The heuristic must be
+     * consistent (see Heuristic); a null heuristic runs plain Dijkstra.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of the graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, Heuristic<V> heuristic) {
+        int source = this.graph.idOf(start);
+        int target = this.graph.idOf(end);
+        this.nextGeneration();
+        SearchFrontier search = this.forward;
+
+        this.estimates[source] = heuristic == null ? 0.0 : heuristic.estimate(start, end);
+        search.relax(source, 0.0, -1, this.estimates[source]);
+
+        while (!search.isEmpty()) {
+            int currentId = search.settleNext();
+            this.verticesSettled++;
+            if (currentId == target) {
+                break; // the end's distance can no longer improve
+            }
+            double currentDist = search.distanceTo(currentId);
+            for (int slot = this.offsets[currentId]; slot < this.offsets[currentId + 1]; slot++) {
+                int otherId = this.targets[slot];
+                if (search.isSettled(otherId)) {
+                    continue;
+                }
+                if (!search.isReached(otherId)) {
+                    this.estimates[otherId] = heuristic == null
+                            ? 0.0 : heuristic.estimate(this.graph.vertexOf(otherId), end);
+                }
+                double newDistance = currentDist + this.weights[slot];
+                search.relax(otherId, newDistance, this.edgeIds[slot], newDistance + this.estimates[otherId]);
+            }
+        }
+
+        if (!search.isSettled(target)) {
+            throw new NoPathExistsException("no path from start to end");
+        }
+        IList<E> result = new DoubleLinkedList<>();
+        this.prependPath(result, search, target);
+        return result;
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * searching from both ends at once.
+     *
+     * Each step settles a vertex on whichever side has the smaller tentative
+     * distance, and every edge that reaches a vertex the other side has seen
+     * yields a candidate path. The search stops once the two smallest
+     * tentative distances add up to at least the best candidate, since no
+     * unexplored path can be shorter. Each side only has to cover about half
+     * the distance, so far fewer vertices are settled on long queries.
+     *
+     * @throws IllegalArgumentException  if either vertex is not part of the graph
+     * @throws NoPathExistsException     if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBidirectional(V start, V end) {
+        int source = this.graph.idOf(start);
+        int target = this.graph.idOf(end);
+        if (this.backward == null) {
+            this.backward = new SearchFrontier(this.estimates.length);
+        }
+        this.nextGeneration();
+        this.forward.relax(source, 0.0, -1, 0.0);
+        this.backward.relax(target, 0.0, -1, 0.0);
+
+        double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+        int meet = source == target ? source : -1;
+        while (!this.forward.isEmpty() && !this.backward.isEmpty()) {
+            double forwardMin = this.forward.peekMinKey();
+            double backwardMin = this.backward.peekMinKey();
+            if (forwardMin + backwardMin >= best) {
+                break; // the meeting-point stopping rule
+            }
+            SearchFrontier side = forwardMin <= backwardMin ? this.forward : this.backward;
+            SearchFrontier other = side == this.forward ? this.backward : this.forward;
+
+            int currentId = side.settleNext();
+            this.verticesSettled++;
+            double currentDist = side.distanceTo(currentId);
+            for (int slot = this.offsets[currentId]; slot < this.offsets[currentId + 1]; slot++) {
+                int otherId = this.targets[slot];
+                if (side.isSettled(otherId)) {
+                    continue;
+                }
+                double newDistance = currentDist + this.weights[slot];
+                side.relax(otherId, newDistance, this.edgeIds[slot], newDistance);
+                if (other.isReached(otherId)) {
+                    double candidate = side.distanceTo(otherId) + other.distanceTo(otherId);
+                    if (candidate < best) {
+                        best = candidate;
+                        meet = otherId;
+                    }
+                }
+            }
+        }
+
+        if (meet == -1) {
+            throw new NoPathExistsException("no path from start to end");
+        }
+        IList<E> result = new DoubleLinkedList<>();
+        this.prependPath(result, this.forward, meet);
+        int currentId = meet;
+        while (currentId != target) { // the backward search's predecessors lead to the end
+            int edgeId = this.backward.edgeTo(currentId);
+            result.add(this.graph.edgeOf(edgeId));
+            currentId = this.otherEnd(edgeId, currentId);
+        }
+        return result;
+    }
+
+    /*
+     * insert in front of 'result' the edges leading from the root of the given
+     * search to the given vertex, in order
+     */
+    private void prependPath(IList<E> result, SearchFrontier search, int vertex) {
+        int currentId = vertex;
+        int edgeId = search.edgeTo(currentId);
+        while (edgeId != -1) { // backtrack from the vertex using the predecessors
+            result.insert(0, this.graph.edgeOf(edgeId));
+            currentId = this.otherEnd(edgeId, currentId);
+            edgeId = search.edgeTo(currentId);
+        }
+    }
+
+    /**
+     * Returns how many vertices the most recent query settled before it stopped,
+     * counting both sides of a bidirectional query.
+     */
+    public int getVerticesSettled() {
+        return this.verticesSettled;
+    }
+}
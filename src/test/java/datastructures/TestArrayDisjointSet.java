@@ -2,6 +2,7 @@ package datastructures;
 
 import datastructures.concrete.ArrayDisjointSet;
 import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.IList;
 import misc.BaseTest;
 import org.junit.Test;
 import static org.junit.Assert.assertTrue;
@@ -237,4 +238,49 @@ public class TestArrayDisjointSet extends BaseTest {
             }
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testSetCountsAndSizes() {
+        String[] items = new String[] {"a", "b", "c", "d", "e"};
+        IDisjointSet<String> forest = this.createForest(items);
+        assertEquals(5, forest.numSets());
+
+        forest.union("a", "b");
+        forest.union("c", "b");
+        forest.union("d", "e");
+        assertEquals(2, forest.numSets());
+        assertEquals(3, forest.sizeOfSet("a"));
+        assertEquals(3, forest.sizeOfSet("c"));
+        assertEquals(2, forest.sizeOfSet("e"));
+
+        forest.makeSet("f");
+        assertEquals(3, forest.numSets());
+        assertEquals(1, forest.sizeOfSet("f"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testMembersOfSet() {
+        Integer[] items = new Integer[100];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+        IDisjointSet<Integer> forest = this.createForest(items);
+        // the even and the odd numbers form one set each
+        for (int i = 2; i < items.length; i++) {
+            forest.union(i - 2, i);
+        }
+
+        IList<Integer> evens = forest.membersOfSet(42);
+        assertEquals(50, evens.size());
+        boolean[] seen = new boolean[items.length];
+        for (int item : evens) {
+            assertTrue(item % 2 == 0);
+            assertTrue(!seen[item]);
+            seen[item] = true;
+        }
+        assertEquals(50, forest.membersOfSet(99).size());
+
+        forest.union(0, 1);
+        assertEquals(100, forest.membersOfSet(7).size());
+    }
 }
@@ -0,0 +1,206 @@
+package datastructures;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.ConcurrentDisjointSet;
+import datastructures.interfaces.IDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestConcurrentDisjointSet extends BaseTest {
+    private static final int NUM_THREADS = 4;
+
+    private <T> IDisjointSet<T> createForest(T[] items) {
+        IDisjointSet<T> forest = new ConcurrentDisjointSet<>();
+        for (T item : items) {
+            forest.makeSet(item);
+        }
+        return forest;
+    }
+
+    /*
+     * run the body on NUM_THREADS threads at once, each given its thread number,
+     * and rethrow the first failure
+     */
+    private void runConcurrently(ThreadBody body) throws Throwable {
+        Thread[] threads = new Thread[NUM_THREADS];
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int threadNum = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    body.run(threadNum);
+                } catch (Throwable ex) {
+                    synchronized (failure) {
+                        failure[0] = ex;
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int threadNum);
+    }
+
+    @Test(timeout=SECOND)
+    public void testMatchesArrayDisjointSetSequentially() {
+        String[] items = new String[] {"a", "b", "c", "d", "e"};
+        IDisjointSet<String> forest = this.createForest(items);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(i, forest.findSet(items[i]));
+        }
+
+        forest.union("a", "b");
+        forest.union("c", "d");
+        assertEquals(forest.findSet("a"), forest.findSet("b"));
+        assertEquals(forest.findSet("c"), forest.findSet("d"));
+        assertTrue(forest.findSet("a") != forest.findSet("c"));
+        assertEquals(4, forest.findSet("e"));
+
+        forest.union("b", "c");
+        assertEquals(0, forest.findSet("d"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testIllegalArguments() {
+        String[] items = new String[] {null, "a", "b"};
+        IDisjointSet<String> forest = this.createForest(items);
+        forest.union(null, "a");
+        assertEquals(forest.findSet(null), forest.findSet("a"));
+
+        try {
+            forest.makeSet("a");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.findSet("f");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.union("a", "f");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.union("a", null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=20 * SECOND)
+    public void testConcurrentUnionsMatchArrayDisjointSet() throws Throwable {
+        int numItems = 200000;
+        int numUnions = 150000;
+        Random rand = new Random(373);
+        int[] left = new int[numUnions];
+        int[] right = new int[numUnions];
+        for (int i = 0; i < numUnions; i++) {
+            left[i] = rand.nextInt(numItems);
+            right[i] = rand.nextInt(numItems);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            IDisjointSet<Integer> expected = new ArrayDisjointSet<>();
+            IDisjointSet<Integer> actual = new ConcurrentDisjointSet<>();
+            for (int i = 0; i < numItems; i++) {
+                expected.makeSet(i);
+                actual.makeSet(i);
+            }
+            for (int i = 0; i < numUnions; i++) {
+                if (expected.findSet(left[i]) != expected.findSet(right[i])) {
+                    expected.union(left[i], right[i]);
+                }
+            }
+
+            // every thread performs every union, so they all race on the same sets
+            AtomicInteger merged = new AtomicInteger(0);
+            this.runConcurrently(threadNum -> {
+                for (int k = 0; k < numUnions; k++) {
+                    int i = (k + threadNum * (numUnions / NUM_THREADS)) % numUnions;
+                    try {
+                        actual.union(left[i], right[i]);
+                        merged.incrementAndGet();
+                    } catch (IllegalArgumentException ex) {
+                        // already in the same set, possibly thanks to another thread
+                    }
+                }
+            });
+
+            // the partitions match if the roots correspond one-to-one
+            int[] actualFor = new int[numItems];
+            int[] expectedFor = new int[numItems];
+            Arrays.fill(actualFor, -1);
+            Arrays.fill(expectedFor, -1);
+            int numSets = 0;
+            for (int i = 0; i < numItems; i++) {
+                int e = expected.findSet(i);
+                int a = actual.findSet(i);
+                if (actualFor[e] == -1 && expectedFor[a] == -1) {
+                    actualFor[e] = a;
+                    expectedFor[a] = e;
+                    numSets++;
+                }
+                assertEquals(a, actualFor[e]);
+                assertEquals(e, expectedFor[a]);
+                // every size handed over during the race must have reached its root
+                assertEquals(expected.sizeOfSet(i), actual.sizeOfSet(i));
+            }
+            // each successful union merged two sets, exactly once
+            assertEquals(numItems - numSets, merged.get());
+            assertEquals(numSets, actual.numSets());
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentMakeSet() throws Throwable {
+        int perThread = 50000;
+        IDisjointSet<Integer> forest = new ConcurrentDisjointSet<>();
+        AtomicInteger duplicates = new AtomicInteger(0);
+        // threads add overlapping ranges, so half of every thread's items collide
+        this.runConcurrently(threadNum -> {
+            for (int i = 0; i < perThread; i++) {
+                try {
+                    forest.makeSet(threadNum * perThread / 2 + i);
+                } catch (IllegalArgumentException ex) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+        int numDistinct = (NUM_THREADS + 1) * perThread / 2;
+        assertEquals(NUM_THREADS * perThread - numDistinct, duplicates.get());
+        assertEquals(numDistinct, forest.numSets());
+        for (int i = 1; i < numDistinct; i++) {
+            forest.union(i - 1, i);
+        }
+        assertEquals(1, forest.numSets());
+        assertEquals(numDistinct, forest.sizeOfSet(0));
+        assertEquals(numDistinct, forest.membersOfSet(numDistinct - 1).size());
+        int root = forest.findSet(0);
+        for (int i = 0; i < numDistinct; i++) {
+            assertEquals(root, forest.findSet(i));
+        }
+    }
+}
@@ -5,9 +5,24 @@ import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import misc.BaseTest;
 import misc.exceptions.NoPathExistsException;
+import misc.graphs.ContractionHierarchy;
 import misc.graphs.Edge;
 import misc.graphs.Graph;
+import misc.graphs.Heuristic;
+import misc.graphs.LandmarkHeuristic;
+import misc.graphs.LandmarkTable;
+import misc.graphs.MstStrategy;
+import misc.graphs.ShortestPathSearcher;
 import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -102,6 +117,91 @@ public class TestGraph extends BaseTest {
         assertEquals(expectedFinalCost, cost, 0.0001);
     }
 
+    /**
+     * Builds the edges of a width x height grid whose vertices are the integers
+     * 0 through width * height - 1, with random weights in [1, 10).
+     */
+    public IList<SimpleEdge<Integer>> buildGridEdges(int width, int height, long seed) {
+        Random rand = new Random(seed);
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int id = y * width + x;
+                if (x + 1 < width) {
+                    edges.add(edge(id, id + 1, 1 + rand.nextDouble() * 9));
+                }
+                if (y + 1 < height) {
+                    edges.add(edge(id, id + width, 1 + rand.nextDouble() * 9));
+                }
+            }
+        }
+        return edges;
+    }
+
+    public IList<Integer> buildIntVertices(int count) {
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        for (int i = 0; i < count; i++) {
+            vertices.add(i);
+        }
+        return vertices;
+    }
+
+    /**
+     * Computes the distance from the source to every vertex with a plain
+     * textbook Dijkstra, for checking the optimized searches against.
+     */
+    public double[] referenceDistances(int numVertices, IList<SimpleEdge<Integer>> edges, int source) {
+        double[][] adjacency = new double[numVertices][];
+        int[][] neighbors = new int[numVertices][];
+        int[] degree = new int[numVertices];
+        for (SimpleEdge<Integer> e : edges) {
+            degree[e.getVertex1()]++;
+            degree[e.getVertex2()]++;
+        }
+        for (int i = 0; i < numVertices; i++) {
+            adjacency[i] = new double[degree[i]];
+            neighbors[i] = new int[degree[i]];
+            degree[i] = 0;
+        }
+        for (SimpleEdge<Integer> e : edges) {
+            int a = e.getVertex1();
+            int b = e.getVertex2();
+            neighbors[a][degree[a]] = b;
+            adjacency[a][degree[a]++] = e.getWeight();
+            neighbors[b][degree[b]] = a;
+            adjacency[b][degree[b]++] = e.getWeight();
+        }
+
+        double[] dist = new double[numVertices];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0.0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((x, y) -> Double.compare(x[0], y[0]));
+        queue.add(new double[] {0.0, source});
+        while (!queue.isEmpty()) {
+            double[] top = queue.remove();
+            int v = (int) top[1];
+            if (top[0] > dist[v]) {
+                continue;
+            }
+            for (int i = 0; i < neighbors[v].length; i++) {
+                double candidate = dist[v] + adjacency[v][i];
+                if (candidate < dist[neighbors[v][i]]) {
+                    dist[neighbors[v][i]] = candidate;
+                    queue.add(new double[] {candidate, neighbors[v][i]});
+                }
+            }
+        }
+        return dist;
+    }
+
+    public <V> double pathCost(IList<SimpleEdge<V>> path) {
+        double cost = 0.0;
+        for (SimpleEdge<V> e : path) {
+            cost += e.getWeight();
+        }
+        return cost;
+    }
+
     public Graph<String, SimpleEdge<String>> buildSimpleGraph() {
         IList<String> vertices = new DoubleLinkedList<>();
         vertices.add("a");
@@ -326,4 +426,615 @@ public class TestGraph extends BaseTest {
             // All ok -- expected result
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathSearcherReuse() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        ShortestPathSearcher<String, SimpleEdge<String>> searcher = new ShortestPathSearcher<>(graph);
+
+        for (int round = 0; round < 3; round++) {
+            assertEquals(6, pathCost(searcher.findShortestPathBetween("a", "g")), 0.0001);
+            assertEquals(2, pathCost(searcher.findShortestPathBetween("i", "k")), 0.0001);
+            try {
+                searcher.findShortestPathBetween("a", "i");
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+            assertEquals(0, searcher.findShortestPathBetween("g", "g").size());
+            assertEquals(6, pathCost(searcher.findShortestPathBetween("g", "a")), 0.0001);
+        }
+        try {
+            searcher.findShortestPathBetween("a", "nope");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGraphQueriesReuseSearcher() {
+        // the graph keeps one searcher between calls; failed queries must not
+        // leave it in a state that disturbs the next one
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        for (int round = 0; round < 3; round++) {
+            assertEquals(6, pathCost(graph.findShortestPathBetween("a", "g")), 0.0001);
+            try {
+                graph.findShortestPathBidirectional("a", "i");
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+            try {
+                graph.findShortestPathBetween("a", "nope");
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+            assertEquals(2, pathCost(graph.findShortestPathBidirectional("k", "i")), 0.0001);
+            assertEquals(6, pathCost(graph.findShortestPathBetween("g", "a")), 0.0001);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentGraphQueries() throws InterruptedException {
+        int width = 40;
+        int height = 30;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+        double[] expected = this.referenceDistances(width * height, edges, 0);
+
+        // every thread queries the same graph at once, so some must make their own searcher
+        AtomicInteger mismatches = new AtomicInteger(0);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int target = offset; target < width * height; target += threads.length) {
+                    if (Math.abs(expected[target] - pathCost(graph.findShortestPathBetween(0, target))) > 1e-9) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testShortestPathSearcherMatchesReference() {
+        int width = 40;
+        int height = 30;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+        ShortestPathSearcher<Integer, SimpleEdge<Integer>> searcher = new ShortestPathSearcher<>(graph);
+
+        Random rand = new Random(143);
+        for (int i = 0; i < 20; i++) {
+            int source = rand.nextInt(width * height);
+            double[] expected = this.referenceDistances(width * height, edges, source);
+            for (int j = 0; j < 10; j++) {
+                int target = rand.nextInt(width * height);
+                assertEquals(expected[target], pathCost(searcher.findShortestPathBetween(source, target)), 1e-9);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathSearcherStopsEarly() {
+        // a path 0 - 1 - 2 - ... - 999 with unit weights
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i + 1 < 1000; i++) {
+            edges.add(edge(i, i + 1, 1.0));
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(1000), edges);
+        ShortestPathSearcher<Integer, SimpleEdge<Integer>> searcher = new ShortestPathSearcher<>(graph);
+
+        assertEquals(3, searcher.findShortestPathBetween(0, 3).size());
+        assertEquals(4, searcher.getVerticesSettled());
+        assertEquals(999, searcher.findShortestPathBetween(0, 999).size());
+        assertEquals(1000, searcher.getVerticesSettled());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testAStarMatchesReference() {
+        int width = 40;
+        int height = 30;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+        ShortestPathSearcher<Integer, SimpleEdge<Integer>> searcher = new ShortestPathSearcher<>(graph);
+        // every grid edge weighs at least 1, so the number of grid steps is a consistent estimate
+        Heuristic<Integer> manhattan = (v, t) ->
+                Math.abs(v % width - t % width) + Math.abs(v / width - t / width);
+
+        Random rand = new Random(143);
+        for (int i = 0; i < 20; i++) {
+            int source = rand.nextInt(width * height);
+            int target = rand.nextInt(width * height);
+            double[] expected = this.referenceDistances(width * height, edges, source);
+
+            searcher.findShortestPathBetween(source, target);
+            int dijkstraSettled = searcher.getVerticesSettled();
+            assertEquals(expected[target],
+                    pathCost(searcher.findShortestPathBetween(source, target, manhattan)), 1e-9);
+            assertTrue(searcher.getVerticesSettled() <= dijkstraSettled);
+            assertEquals(expected[target], pathCost(graph.findShortestPathBetween(source, target, manhattan)), 1e-9);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testBidirectionalMatchesReference() {
+        int width = 40;
+        int height = 30;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+        ShortestPathSearcher<Integer, SimpleEdge<Integer>> searcher = new ShortestPathSearcher<>(graph);
+
+        Random rand = new Random(143);
+        for (int i = 0; i < 20; i++) {
+            int source = rand.nextInt(width * height);
+            double[] expected = this.referenceDistances(width * height, edges, source);
+            for (int j = 0; j < 10; j++) {
+                int target = rand.nextInt(width * height);
+                IList<SimpleEdge<Integer>> path = searcher.findShortestPathBidirectional(source, target);
+                assertEquals(expected[target], pathCost(path), 1e-9);
+                // the edges must chain together from the source to the target
+                int current = source;
+                for (SimpleEdge<Integer> edge : path) {
+                    current = edge.getOtherVertex(current);
+                }
+                assertEquals(target, current);
+            }
+        }
+
+        // corner to corner, the two searches meet in the middle
+        int last = width * height - 1;
+        searcher.findShortestPathBetween(0, last);
+        int dijkstraSettled = searcher.getVerticesSettled();
+        assertEquals(pathCost(searcher.findShortestPathBetween(0, last)),
+                pathCost(graph.findShortestPathBidirectional(0, last)), 1e-9);
+        searcher.findShortestPathBidirectional(0, last);
+        assertTrue(searcher.getVerticesSettled() < dijkstraSettled);
+    }
+
+    @Test(timeout=SECOND)
+    public void testBidirectionalEdgeCases() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        ShortestPathSearcher<String, SimpleEdge<String>> searcher = new ShortestPathSearcher<>(graph);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, searcher.findShortestPathBidirectional("g", "g").size());
+            assertEquals(6, pathCost(searcher.findShortestPathBidirectional("a", "g")), 0.0001);
+            assertEquals(2, pathCost(searcher.findShortestPathBidirectional("i", "k")), 0.0001);
+            try {
+                searcher.findShortestPathBidirectional("a", "i");
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+            // interleaving with the other kinds of query must not disturb either
+            assertEquals(6, pathCost(searcher.findShortestPathBetween("g", "a")), 0.0001);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testContractionHierarchyMatchesReference() {
+        int width = 40;
+        int height = 30;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        // a few extra long-range edges, parallel edges and a self-loop
+        edges.add(edge(0, width * height - 1, 55.0));
+        edges.add(edge(5, 6, 0.5));
+        edges.add(edge(7, 7, 1.0));
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+        ContractionHierarchy<Integer, SimpleEdge<Integer>> hierarchy = graph.buildContractionHierarchy();
+
+        Random rand = new Random(143);
+        for (int i = 0; i < 20; i++) {
+            int source = rand.nextInt(width * height);
+            double[] expected = this.referenceDistances(width * height, edges, source);
+            for (int j = 0; j < 10; j++) {
+                int target = rand.nextInt(width * height);
+                assertEquals(expected[target], hierarchy.findDistanceBetween(source, target), 1e-9);
+                IList<SimpleEdge<Integer>> path = hierarchy.findShortestPathBetween(source, target);
+                assertEquals(expected[target], pathCost(path), 1e-9);
+                // the unpacked edges must chain together from the source to the target
+                int current = source;
+                for (SimpleEdge<Integer> edge : path) {
+                    current = edge.getOtherVertex(current);
+                }
+                assertEquals(target, current);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testContractionHierarchyEdgeCases() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        ContractionHierarchy<String, SimpleEdge<String>> hierarchy = graph.buildContractionHierarchy();
+        assertEquals(0, hierarchy.findShortestPathBetween("g", "g").size());
+        assertEquals(6, pathCost(hierarchy.findShortestPathBetween("a", "g")), 0.0001);
+        assertEquals(6, pathCost(hierarchy.findShortestPathBetween("g", "a")), 0.0001);
+        assertEquals(2, hierarchy.findDistanceBetween("i", "k"), 0.0001);
+        try {
+            hierarchy.findShortestPathBetween("a", "i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            hierarchy.findDistanceBetween("a", "nope");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testLandmarkHeuristicMatchesReference() {
+        int width = 40;
+        int height = 30;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+        ShortestPathSearcher<Integer, SimpleEdge<Integer>> searcher = new ShortestPathSearcher<>(graph);
+        LandmarkHeuristic<Integer> farthest = graph.buildLandmarkHeuristic(4);
+        assertEquals(4, farthest.getTable().numLandmarks());
+        IList<Integer> corners = new DoubleLinkedList<>();
+        corners.add(0);
+        corners.add(width - 1);
+        corners.add(width * (height - 1));
+        corners.add(width * height - 1);
+        LandmarkHeuristic<Integer> cornerLandmarks = graph.buildLandmarkHeuristic(corners);
+
+        Random rand = new Random(143);
+        for (int i = 0; i < 20; i++) {
+            int source = rand.nextInt(width * height);
+            int target = rand.nextInt(width * height);
+            double[] expected = this.referenceDistances(width * height, edges, source);
+            assertTrue(farthest.estimate(source, target) <= expected[target] + 1e-9);
+            assertTrue(cornerLandmarks.estimate(source, target) <= expected[target] + 1e-9);
+
+            searcher.findShortestPathBetween(source, target);
+            int dijkstraSettled = searcher.getVerticesSettled();
+            assertEquals(expected[target],
+                    pathCost(searcher.findShortestPathBetween(source, target, farthest)), 1e-9);
+            assertTrue(searcher.getVerticesSettled() <= dijkstraSettled);
+            assertEquals(expected[target],
+                    pathCost(searcher.findShortestPathBetween(source, target, cornerLandmarks)), 1e-9);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testLandmarkTableSerialization() throws Exception {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        LandmarkHeuristic<String> heuristic = graph.buildLandmarkHeuristic(3);
+        assertEquals(Double.POSITIVE_INFINITY, heuristic.estimate("a", "i"), 0.0);
+        try {
+            graph.findShortestPathBetween("a", "i", heuristic);
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(heuristic.getTable());
+        }
+        LandmarkTable restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (LandmarkTable) in.readObject();
+        }
+
+        // an identical graph built again accepts the restored table
+        Graph<String, SimpleEdge<String>> rebuilt = this.buildDisconnectedGraph();
+        LandmarkHeuristic<String> reloaded = new LandmarkHeuristic<>(rebuilt, restored);
+        assertEquals(heuristic.estimate("a", "g"), reloaded.estimate("a", "g"), 0.0);
+        assertEquals(6, pathCost(rebuilt.findShortestPathBetween("a", "g", reloaded)), 0.0001);
+
+        try {
+            new LandmarkHeuristic<>(this.buildSimpleGraph(), restored);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.buildLandmarkHeuristic(0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testDistancesFromMatchesReference() {
+        int width = 200;
+        int height = 150;
+        IList<SimpleEdge<Integer>> edges = this.buildGridEdges(width, height, 373);
+        // long, heavy edges that skip across the grid
+        Random rand = new Random(143);
+        for (int i = 0; i < 500; i++) {
+            edges.add(edge(rand.nextInt(width * height), rand.nextInt(width * height), 50 + rand.nextDouble() * 50));
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(width * height), edges);
+
+        for (int i = 0; i < 3; i++) {
+            int source = rand.nextInt(width * height);
+            double[] expected = this.referenceDistances(width * height, edges, source);
+            double[] actual = graph.findDistancesFrom(source);
+            assertEquals(expected.length, actual.length);
+            for (int v = 0; v < expected.length; v++) {
+                assertEquals(expected[v], actual[graph.indexOf(v)], 1e-6);
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testDistancesFromUniformWeights() {
+        // With equal weights, delta (the mean weight) can land just below the
+        // weight itself, so every edge is heavy, and rounding can then put a
+        // heavy edge's far end back into the bucket being expanded.
+        // Whether that happens depends on the exact mean, so try many sizes.
+        double[] weights = new double[] {0.1, 0.7, 1.1};
+        for (double weight : weights) {
+            IList<SimpleEdge<Integer>> pathEdges = new DoubleLinkedList<>();
+            for (int length = 2; length <= 200; length++) {
+                pathEdges.add(edge(length - 2, length - 1, weight));
+                this.checkDistancesFrom(length, pathEdges, 0);
+            }
+
+            for (int side = 5; side <= 40; side += 5) {
+                IList<SimpleEdge<Integer>> gridEdges = new DoubleLinkedList<>();
+                for (int y = 0; y < side; y++) {
+                    for (int x = 0; x < side; x++) {
+                        if (x + 1 < side) {
+                            gridEdges.add(edge(y * side + x, y * side + x + 1, weight));
+                        }
+                        if (y + 1 < side) {
+                            gridEdges.add(edge(y * side + x, (y + 1) * side + x, weight));
+                        }
+                    }
+                }
+                this.checkDistancesFrom(side * side, gridEdges, 0);
+                this.checkDistancesFrom(side * side, gridEdges, side * side / 2);
+            }
+        }
+    }
+
+    private void checkDistancesFrom(int numVertices, IList<SimpleEdge<Integer>> edges, int source) {
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(numVertices), edges);
+        double[] expected = this.referenceDistances(numVertices, edges, source);
+        double[] actual = graph.findDistancesFrom(source);
+        for (int v = 0; v < numVertices; v++) {
+            assertEquals(expected[v], actual[graph.indexOf(v)], 1e-6);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDistancesFromDisconnected() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        double[] distances = graph.findDistancesFrom("a");
+        assertEquals(0, distances[graph.indexOf("a")], 0.0);
+        assertEquals(6, distances[graph.indexOf("g")], 0.0001);
+        assertEquals(Double.POSITIVE_INFINITY, distances[graph.indexOf("i")], 0.0);
+        try {
+            graph.findDistancesFrom("nope");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    /*
+     * return the number of edges on the fewest-edge path from the source to
+     * every vertex, or -1 where there is none, using a plain queue
+     */
+    public int[] referenceHops(int numVertices, IList<SimpleEdge<Integer>> edges, int source) {
+        int[][] neighbors = new int[numVertices][];
+        int[] degree = new int[numVertices];
+        for (SimpleEdge<Integer> e : edges) {
+            degree[e.getVertex1()]++;
+            degree[e.getVertex2()]++;
+        }
+        for (int i = 0; i < numVertices; i++) {
+            neighbors[i] = new int[degree[i]];
+            degree[i] = 0;
+        }
+        for (SimpleEdge<Integer> e : edges) {
+            int a = e.getVertex1();
+            int b = e.getVertex2();
+            neighbors[a][degree[a]++] = b;
+            neighbors[b][degree[b]++] = a;
+        }
+
+        int[] hops = new int[numVertices];
+        Arrays.fill(hops, -1);
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
+        hops[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int next : neighbors[current]) {
+                if (hops[next] == -1) {
+                    hops[next] = hops[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return hops;
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testHopCountsMatchReference() {
+        // a random graph dense enough for the search to switch to bottom-up steps
+        int numVertices = 20000;
+        Random rand = new Random(373);
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < 4 * numVertices; i++) {
+            edges.add(edge(rand.nextInt(numVertices), rand.nextInt(numVertices), 1.0));
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(numVertices), edges);
+
+        for (int i = 0; i < 5; i++) {
+            int source = rand.nextInt(numVertices);
+            int[] expected = this.referenceHops(numVertices, edges, source);
+            for (int j = 0; j < 20; j++) {
+                int target = rand.nextInt(numVertices);
+                assertEquals(expected[target] >= 0, graph.isConnected(source, target));
+                if (expected[target] >= 0) {
+                    assertEquals(expected[target], graph.findHopCountBetween(source, target));
+                }
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testConnectedComponents() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        assertTrue(!graph.isConnected());
+        assertTrue(graph.isConnected("a", "g"));
+        assertTrue(!graph.isConnected("a", "i"));
+        assertEquals(0, graph.findHopCountBetween("a", "a"));
+        try {
+            graph.findHopCountBetween("a", "i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+
+        int[] labels = graph.connectedComponents();
+        assertEquals(graph.numVertices(), labels.length);
+        assertEquals(labels[graph.indexOf("a")], labels[graph.indexOf("g")]);
+        assertTrue(labels[graph.indexOf("a")] != labels[graph.indexOf("i")]);
+        assertEquals(labels[graph.indexOf("i")], labels[graph.indexOf("k")]);
+        assertEquals(0, labels[0]);
+
+        assertTrue(this.buildSimpleGraph().isConnected());
+        assertTrue(new Graph<String, SimpleEdge<String>>(
+                new DoubleLinkedList<String>(), new DoubleLinkedList<SimpleEdge<String>>()).isConnected());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFreezeIsTransparent() {
+        Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
+        assertTrue(!graph.isFrozen());
+        checkPathMatches(graph, 7, new String[] {"a", "d", "f"});
+        assertTrue(graph.isFrozen());
+        graph.freeze();
+        assertTrue(graph.isFrozen());
+        assertEquals(graph.numVertices() - 1, graph.findMinimumSpanningTree().size());
+
+        Graph<String, SimpleEdge<String>> eager = this.buildSimpleGraph();
+        eager.freeze();
+        checkPathMatches(eager, 12, new String[] {"c", "a", "d", "f"});
+    }
+
+    @Test(timeout=SECOND)
+    public void testSelfLoopsAndParallelEdges() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("c");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "a", 0));
+        edges.add(edge("a", "b", 5));
+        edges.add(edge("b", "a", 2));
+        edges.add(edge("b", "b", 1));
+        edges.add(edge("b", "c", 3));
+        Graph<String, SimpleEdge<String>> graph = new Graph<>(vertices, edges);
+
+        IList<SimpleEdge<String>> path = graph.findShortestPathBetween("a", "c");
+        assertEquals(2, path.size());
+        assertEquals(edge("b", "a", 2), path.get(0));
+        assertEquals(edge("b", "c", 3), path.get(1));
+
+        ISet<SimpleEdge<String>> mst = graph.findMinimumSpanningTree();
+        assertEquals(2, mst.size());
+        assertTrue(mst.contains(edge("b", "a", 2)));
+        assertTrue(mst.contains(edge("b", "c", 3)));
+    }
+
+    @Test(timeout=SECOND)
+    public void testTrustedInputSkipsValidation() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 2));
+        Graph<String, SimpleEdge<String>> graph = new Graph<>(vertices, edges, true);
+        checkPathMatches(graph, 2, new String[] {"a", "b"});
+
+        // an unknown vertex is only caught once the trusted graph is frozen
+        edges.add(edge("a", "z", 1));
+        Graph<String, SimpleEdge<String>> broken = new Graph<>(vertices, edges, true);
+        try {
+            broken.freeze();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new Graph<>(vertices, edges, false);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    /**
+     * Checks that the given set is a spanning tree of the grid built by
+     * buildGridEdges, and returns its total weight.
+     */
+    public double checkSpanningTree(int numVertices, ISet<SimpleEdge<Integer>> tree) {
+        assertEquals(numVertices - 1, tree.size());
+        int[] parent = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            parent[i] = i;
+        }
+        double total = 0.0;
+        for (SimpleEdge<Integer> e : tree) {
+            int a = e.getVertex1();
+            int b = e.getVertex2();
+            while (parent[a] != a) {
+                a = parent[a];
+            }
+            while (parent[b] != b) {
+                b = parent[b];
+            }
+            assertTrue(a != b); // no cycles
+            parent[a] = b;
+            total += e.getWeight();
+        }
+        return total;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMstStrategiesAgree() {
+        Graph<String, SimpleEdge<String>> simple = this.buildSimpleGraph();
+        for (MstStrategy strategy : MstStrategy.values()) {
+            ISet<SimpleEdge<String>> mst = simple.findMinimumSpanningTree(strategy);
+            assertEquals(simple.numVertices() - 1, mst.size());
+            assertTrue(mst.contains(edge("a", "d", 1)));
+            assertTrue(mst.contains(edge("a", "b", 2)));
+            assertTrue(mst.contains(edge("b", "e", 3)));
+            assertTrue(mst.contains(edge("a", "c", 5)));
+            assertTrue(mst.contains(edge("d", "f", 6)));
+        }
+
+        // integer weights produce lots of ties between equally good trees
+        int side = 120;
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        Random rand = new Random(373);
+        for (SimpleEdge<Integer> e : this.buildGridEdges(side, side, 373)) {
+            edges.add(edge(e.getVertex1(), e.getVertex2(), rand.nextInt(5)));
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(this.buildIntVertices(side * side), edges);
+        double expected = this.checkSpanningTree(side * side, graph.findMinimumSpanningTree());
+        for (MstStrategy strategy : MstStrategy.values()) {
+            assertEquals(expected, this.checkSpanningTree(side * side, graph.findMinimumSpanningTree(strategy)), 1e-9);
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.graphs.Graph;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Prints how long it takes to construct, freeze and search grid graphs of
+ * increasing size, with and without constructor validation, and how long a
+ * breadth-first hop count takes next to the full search.
+ *
+ * Timings are printed rather than asserted on, since they are too noisy to
+ * gate a build on.
+ *
+ * Skipped unless benchmarks are enabled; see BaseTest.assumeBenchmarksEnabled.
+ */
+public class TestGraphConstructionBenchmark extends BaseTest {
+    private static final int[] SIDES = {100, 300, 1000};
+
+    @BeforeClass
+    public static void requireBenchmarks() {
+        assumeBenchmarksEnabled();
+    }
+
+    private static IList<Integer> buildVertices(int count) {
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        for (int i = 0; i < count; i++) {
+            vertices.add(i);
+        }
+        return vertices;
+    }
+
+    private static IList<SimpleEdge<Integer>> buildEdges(int side) {
+        Random rand = new Random(373);
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int id = y * side + x;
+                if (x + 1 < side) {
+                    edges.add(new SimpleEdge<>(id, id + 1, 1 + rand.nextDouble()));
+                }
+                if (y + 1 < side) {
+                    edges.add(new SimpleEdge<>(id, id + side, 1 + rand.nextDouble()));
+                }
+            }
+        }
+        return edges;
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkConstruction() {
+        for (int side : SIDES) {
+            IList<Integer> vertices = buildVertices(side * side);
+            IList<SimpleEdge<Integer>> edges = buildEdges(side);
+
+            long start = System.nanoTime();
+            Graph<Integer, SimpleEdge<Integer>> validated = new Graph<>(vertices, edges);
+            long validatedTime = millisSince(start);
+
+            start = System.nanoTime();
+            Graph<Integer, SimpleEdge<Integer>> trusted = new Graph<>(vertices, edges, true);
+            long trustedTime = millisSince(start);
+
+            start = System.nanoTime();
+            trusted.freeze();
+            long freezeTime = millisSince(start);
+
+            // corner to corner, so the search settles nearly every vertex
+            start = System.nanoTime();
+            int pathLength = trusted.findShortestPathBetween(0, side * side - 1).size();
+            long searchTime = millisSince(start);
+
+            start = System.nanoTime();
+            int hopCount = trusted.findHopCountBetween(0, side * side - 1);
+            long hopTime = millisSince(start);
+
+            assertEquals(2 * (side - 1), pathLength);
+            assertEquals(2 * (side - 1), hopCount);
+            assertEquals(edges.size(), validated.numEdges());
+            System.out.println(String.format(
+                    "%7d vertices %8d edges: validated %5dms, trusted %4dms, freeze %5dms, full search %5dms, "
+                            + "hop count %4dms",
+                    side * side, edges.size(), validatedTime, trustedTime, freezeTime, searchTime, hopTime));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package datastructures;
+
+import datastructures.concrete.IntDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestIntDisjointSet extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testAddAndFindSimple() {
+        IntDisjointSet forest = new IntDisjointSet();
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, forest.add());
+        }
+        assertEquals(25, forest.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, forest.find(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnionBySize() {
+        IntDisjointSet forest = new IntDisjointSet(5);
+        assertTrue(forest.union(0, 1));
+        assertEquals(0, forest.find(1));
+        // the larger set wins regardless of argument order
+        assertTrue(forest.union(2, 0));
+        assertEquals(0, forest.find(2));
+        assertFalse(forest.union(1, 2));
+        assertEquals(4, forest.find(4));
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnionAll() {
+        IntDisjointSet forest = new IntDisjointSet(6);
+        int merged = forest.unionAll(new int[] {0, 1, 2, 3, 4}, new int[] {1, 2, 0, 4, 3});
+        assertEquals(3, merged);
+        assertEquals(forest.find(0), forest.find(2));
+        assertEquals(forest.find(3), forest.find(4));
+        assertTrue(forest.find(0) != forest.find(3));
+        assertEquals(5, forest.find(5));
+        assertEquals(3, forest.numSets());
+        assertEquals(3, forest.sizeOfSet(1));
+        assertEquals(2, forest.sizeOfSet(3));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRingVisitsEachMemberOnce() {
+        IntDisjointSet forest = new IntDisjointSet(10);
+        for (int i = 3; i < 10; i += 3) {
+            forest.union(i - 3, i);
+        }
+        boolean[] seen = new boolean[10];
+        int count = 0;
+        int item = 6;
+        do {
+            assertTrue(item % 3 == 0);
+            assertFalse(seen[item]);
+            seen[item] = true;
+            count++;
+            item = forest.nextInSet(item);
+        } while (item != 6);
+        assertEquals(4, count);
+        assertEquals(1, forest.nextInSet(1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testLongChainIsIterative() {
+        // unions in this order would build a long chain without union by size,
+        // and a recursive find would overflow on it
+        int size = 1000000;
+        IntDisjointSet forest = new IntDisjointSet(size);
+        int[] items1 = new int[size - 1];
+        int[] items2 = new int[size - 1];
+        for (int i = 0; i < size - 1; i++) {
+            items1[i] = i + 1;
+            items2[i] = i;
+        }
+        assertEquals(size - 1, forest.unionAll(items1, items2));
+        int root = forest.find(0);
+        for (int i = 0; i < size; i += 997) {
+            assertEquals(root, forest.find(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrors() {
+        IntDisjointSet forest = new IntDisjointSet(3);
+        try {
+            forest.find(3);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.union(-1, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.unionAll(new int[] {0, 1}, new int[] {2});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new IntDisjointSet(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
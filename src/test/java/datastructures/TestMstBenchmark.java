@@ -0,0 +1,103 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.VoronoiGenerator;
+import misc.BaseTest;
+import misc.graphs.Graph;
+import misc.graphs.MstStrategy;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+/**
+ * Prints how long each MstStrategy takes on graphs of increasing density,
+ * and checks that they all agree on the total weight.
+ *
+ * Timings are printed rather than asserted on, since they are too noisy to
+ * gate a build on.
+ *
+ * Skipped unless benchmarks are enabled; see BaseTest.assumeBenchmarksEnabled.
+ */
+public class TestMstBenchmark extends BaseTest {
+    private static final int ROUNDS = 3;
+
+    @BeforeClass
+    public static void requireBenchmarks() {
+        assumeBenchmarksEnabled();
+    }
+
+    /*
+     * a side x side lattice where every vertex links to each vertex within the
+     * given radius, so E grows with the square of the radius
+     */
+    private static Graph<Integer, SimpleEdge<Integer>> buildLattice(int side, int radius) {
+        Random rand = new Random(373);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                vertices.add(y * side + x);
+                // only look "forward" so each pair is linked once
+                for (int dx = 0; dx <= radius; dx++) {
+                    for (int dy = -radius; dy <= radius; dy++) {
+                        double length = Math.hypot(dx, dy);
+                        boolean forward = dx > 0 || dy > 0;
+                        int nx = x + dx;
+                        int ny = y + dy;
+                        if (forward && length <= radius && nx < side && ny >= 0 && ny < side) {
+                            edges.add(new SimpleEdge<>(y * side + x, ny * side + nx, length * (1 + rand.nextDouble())));
+                        }
+                    }
+                }
+            }
+        }
+        return new Graph<>(vertices, edges, true);
+    }
+
+    private static <V, E extends misc.graphs.Edge<V> & Comparable<E>> void compare(String label, Graph<V, E> graph) {
+        graph.freeze();
+        StringBuilder line = new StringBuilder(String.format("%-8s V=%7d E=%8d:", label,
+                graph.numVertices(), graph.numEdges()));
+        double expected = -1.0;
+        for (MstStrategy strategy : MstStrategy.values()) {
+            long best = Long.MAX_VALUE;
+            double total = 0.0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                Iterable<E> tree = graph.findMinimumSpanningTree(strategy);
+                best = Math.min(best, System.nanoTime() - start);
+                total = 0.0;
+                for (E edge : tree) {
+                    total += edge.getWeight();
+                }
+            }
+            if (expected < 0.0) {
+                expected = total;
+            }
+            assertEquals(expected, total, 1e-6 * expected);
+            line.append(String.format(" %s %5dms", strategy, best / 1000000));
+        }
+        System.out.println(line);
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkLattices() {
+        compare("sparse", buildLattice(500, 1));
+        compare("lattice", buildLattice(400, 2));
+        compare("dense", buildLattice(250, 3));
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkVoronoi() {
+        Maze maze = new VoronoiGenerator(10000, 10, 5, 5).generateBaseMaze(new Rectangle(0, 0, 4000, 4000));
+        Graph<Room, Wall> graph = new Graph<>(maze.getRooms(), maze.getWalls(), true);
+        compare("voronoi", graph);
+    }
+}
@@ -0,0 +1,159 @@
+package datastructures;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.RollbackDisjointSet;
+import datastructures.interfaces.IDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestRollbackDisjointSet extends BaseTest {
+    private RollbackDisjointSet<Integer> createForest(int size) {
+        RollbackDisjointSet<Integer> forest = new RollbackDisjointSet<>();
+        for (int i = 0; i < size; i++) {
+            forest.makeSet(i);
+        }
+        return forest;
+    }
+
+    private static boolean sameSet(IDisjointSet<Integer> forest, int item1, int item2) {
+        return forest.findSet(item1) == forest.findSet(item2);
+    }
+
+    @Test(timeout=SECOND)
+    public void testBasicSemantics() {
+        RollbackDisjointSet<Integer> forest = this.createForest(5);
+        forest.union(0, 1);
+        forest.union(2, 1);
+        assertTrue(sameSet(forest, 0, 2));
+        assertFalse(sameSet(forest, 0, 3));
+        assertEquals(4, forest.findSet(4));
+        try {
+            forest.union(0, 2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.makeSet(3);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRollbackUndoesUnions() {
+        RollbackDisjointSet<Integer> forest = this.createForest(6);
+        forest.union(0, 1);
+        int before = forest.findSet(1);
+
+        forest.checkpoint();
+        forest.union(2, 3);
+        forest.union(1, 3);
+        forest.union(4, 5);
+        assertTrue(sameSet(forest, 0, 2));
+        forest.rollback();
+
+        assertEquals(before, forest.findSet(0));
+        assertEquals(before, forest.findSet(1));
+        for (int i = 2; i < 6; i++) {
+            assertEquals(i, forest.findSet(i));
+            assertEquals(1, forest.sizeOfSet(i));
+            assertEquals(1, forest.membersOfSet(i).size());
+        }
+        assertEquals(0, forest.numCheckpoints());
+        assertEquals(5, forest.numSets());
+        assertEquals(2, forest.sizeOfSet(0));
+        assertEquals(2, forest.membersOfSet(1).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNestedCheckpoints() {
+        RollbackDisjointSet<Integer> forest = this.createForest(4);
+        forest.checkpoint();
+        forest.union(0, 1);
+        forest.checkpoint();
+        forest.union(2, 3);
+        forest.union(0, 2);
+        assertEquals(2, forest.numCheckpoints());
+
+        forest.rollback();
+        assertTrue(sameSet(forest, 0, 1));
+        assertFalse(sameSet(forest, 2, 3));
+        assertFalse(sameSet(forest, 0, 2));
+
+        forest.rollback();
+        assertFalse(sameSet(forest, 0, 1));
+        try {
+            forest.rollback();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRollbackUndoesMakeSet() {
+        RollbackDisjointSet<Integer> forest = this.createForest(2);
+        forest.checkpoint();
+        forest.makeSet(2);
+        forest.union(2, 0);
+        forest.rollback();
+
+        assertFalse(sameSet(forest, 0, 1));
+        try {
+            forest.findSet(2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        // the item can be added again
+        forest.makeSet(2);
+        assertEquals(2, forest.findSet(2));
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testRandomAgainstRebuilding() {
+        // tentative batches of unions must leave no trace once rolled back,
+        // so only the unions made outside of them may show
+        int size = 2000;
+        Random rand = new Random(373);
+        RollbackDisjointSet<Integer> forest = this.createForest(size);
+        IDisjointSet<Integer> expected = new ArrayDisjointSet<>();
+        for (int i = 0; i < size; i++) {
+            expected.makeSet(i);
+        }
+        for (int round = 0; round < 200; round++) {
+            forest.checkpoint();
+            for (int i = 0; i < 20; i++) {
+                int a = rand.nextInt(size);
+                int b = rand.nextInt(size);
+                if (!sameSet(forest, a, b)) {
+                    forest.union(a, b);
+                }
+            }
+            forest.rollback();
+            if (rand.nextBoolean()) {
+                int a = rand.nextInt(size);
+                int b = rand.nextInt(size);
+                if (!sameSet(forest, a, b)) {
+                    forest.union(a, b);
+                    expected.union(a, b);
+                }
+            }
+        }
+        assertEquals(expected.numSets(), forest.numSets());
+        for (int i = 0; i < size; i++) {
+            int j = rand.nextInt(size);
+            assertEquals(sameSet(expected, i, j), sameSet(forest, i, j));
+            assertEquals(expected.sizeOfSet(i), forest.sizeOfSet(i));
+            assertEquals(expected.sizeOfSet(i), forest.membersOfSet(i).size());
+        }
+    }
+}
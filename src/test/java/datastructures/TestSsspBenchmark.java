@@ -0,0 +1,126 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.VoronoiGenerator;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import misc.graphs.Graph;
+import misc.graphs.ShortestPathSearcher;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Prints how long the parallel delta-stepping search (Graph.findDistancesFrom)
+ * takes to compute all distances from one vertex, next to a sequential
+ * Dijkstra search over the same graph.
+ *
+ * Timings are printed rather than asserted on, since they are too noisy to
+ * gate a build on; run with more threads in the common pool
+ * (-Djava.util.concurrent.ForkJoinPool.common.parallelism=N) to see scaling.
+ *
+ * Skipped unless benchmarks are enabled; see BaseTest.assumeBenchmarksEnabled.
+ */
+public class TestSsspBenchmark extends BaseTest {
+    private static final int ROUNDS = 3;
+
+    @BeforeClass
+    public static void requireBenchmarks() {
+        assumeBenchmarksEnabled();
+    }
+
+    /*
+     * a side x side grid with random weights, plus one isolated vertex
+     */
+    private static Graph<Integer, SimpleEdge<Integer>> buildGrid(int side) {
+        Random rand = new Random(373);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int id = y * side + x;
+                vertices.add(id);
+                if (x + 1 < side) {
+                    edges.add(new SimpleEdge<>(id, id + 1, 1 + rand.nextDouble()));
+                }
+                if (y + 1 < side) {
+                    edges.add(new SimpleEdge<>(id, id + side, 1 + rand.nextDouble()));
+                }
+            }
+        }
+        vertices.add(-1);
+        return new Graph<>(vertices, edges, true);
+    }
+
+    private static <V, E extends misc.graphs.Edge<V> & Comparable<E>> void compare(
+            String label, Graph<V, E> graph, V source, V unreachable) {
+        graph.freeze();
+        long parallelBest = Long.MAX_VALUE;
+        double[] distances = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            distances = graph.findDistancesFrom(source);
+            parallelBest = Math.min(parallelBest, System.nanoTime() - start);
+        }
+
+        // a query to a vertex nobody can reach makes Dijkstra settle every vertex
+        ShortestPathSearcher<V, E> searcher = new ShortestPathSearcher<>(graph);
+        long sequentialBest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            try {
+                searcher.findShortestPathBetween(source, unreachable);
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+            sequentialBest = Math.min(sequentialBest, System.nanoTime() - start);
+        }
+        assertEquals(Double.POSITIVE_INFINITY, distances[graph.indexOf(unreachable)], 0.0);
+
+        System.out.println(String.format("%-8s V=%7d E=%8d: delta-stepping %5dms on %d threads, Dijkstra %5dms",
+                label, graph.numVertices(), graph.numEdges(), parallelBest / 1000000,
+                ForkJoinPool.getCommonPoolParallelism(), sequentialBest / 1000000));
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkGrid() {
+        compare("grid", buildGrid(1000), 0, -1);
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkVoronoi() {
+        Maze maze = new VoronoiGenerator(10000, 10, 5, 5).generateBaseMaze(new Rectangle(0, 0, 4000, 4000));
+        Room[] rooms = new Room[2];
+        int count = 0;
+        for (Room room : maze.getRooms()) {
+            rooms[count] = room;
+            count++;
+            if (count == rooms.length) {
+                break;
+            }
+        }
+        // cut the second room off by leaving out its walls
+        IList<Wall> walls = new DoubleLinkedList<>();
+        for (Wall wall : maze.getWalls()) {
+            if (wall.getRoom1() != rooms[1] && wall.getRoom2() != rooms[1]) {
+                walls.add(wall);
+            }
+        }
+        IList<Room> roomList = new DoubleLinkedList<>();
+        for (Room room : maze.getRooms()) {
+            roomList.add(room);
+        }
+        compare("voronoi", new Graph<>(roomList, walls, true), rooms[0], rooms[1]);
+    }
+}
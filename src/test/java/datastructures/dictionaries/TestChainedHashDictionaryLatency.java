@@ -0,0 +1,88 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import misc.BaseTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Benchmarks per-put latency of ChainedHashDictionary with and without
+ * incremental resizing, and prints the latency percentiles of each mode.
+ *
+ * The numbers are printed rather than asserted on, since wall-clock timings
+ * are too noisy to gate a build on. Garbage collection pauses land on random
+ * puts in both modes, so the worst put that did not overlap a collection is
+ * reported separately: that is the number the rehash strategy controls.
+ *
+ * Skipped unless benchmarks are enabled; see BaseTest.assumeBenchmarksEnabled.
+ */
+public class TestChainedHashDictionaryLatency extends BaseTest {
+    private static final int NUM_PUTS = 1000000;
+
+    @BeforeClass
+    public static void requireBenchmarks() {
+        assumeBenchmarksEnabled();
+    }
+
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+        }
+        return count;
+    }
+
+    /*
+     * returns the sorted put latencies; the last slot holds the worst put
+     * that did not overlap a garbage collection
+     */
+    private long[] measurePuts(boolean incremental) {
+        IDictionary<Integer, Integer> dict = new ChainedHashDictionary<>(incremental);
+        long[] latencies = new long[NUM_PUTS + 1];
+        long worstWithoutGc = 0;
+        for (int i = 0; i < NUM_PUTS; i++) {
+            long collections = collectionCount();
+            long start = System.nanoTime();
+            dict.put(i, i);
+            latencies[i] = System.nanoTime() - start;
+            if (collectionCount() == collections) {
+                worstWithoutGc = Math.max(worstWithoutGc, latencies[i]);
+            }
+        }
+        assertEquals(NUM_PUTS, dict.size());
+        Arrays.sort(latencies, 0, NUM_PUTS);
+        latencies[NUM_PUTS] = worstWithoutGc;
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(NUM_PUTS - 1, (int) (NUM_PUTS * fraction))];
+    }
+
+    private static void report(String label, long[] sorted) {
+        System.out.println(String.format(
+                "%-12s p50=%5dns p99=%6dns p99.9=%7dns p99.99=%8dns max=%10dns max(no GC)=%10dns",
+                label,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                percentile(sorted, 0.9999),
+                sorted[NUM_PUTS - 1],
+                sorted[NUM_PUTS]));
+    }
+
+    @Test(timeout=60*SECOND)
+    public void benchmarkPutLatency() {
+        // warm up both code paths before measuring
+        this.measurePuts(false);
+        this.measurePuts(true);
+
+        report("stop-world", this.measurePuts(false));
+        report("incremental", this.measurePuts(true));
+    }
+}
@@ -0,0 +1,161 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestConcurrentChainedHashDictionary extends TestDictionary {
+    private static final int NUM_THREADS = 8;
+
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ConcurrentChainedHashDictionary<>();
+    }
+
+    /*
+     * runs the given task on NUM_THREADS threads at once, passing each its thread number
+     */
+    private void runInParallel(ThreadTask task) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < NUM_THREADS; i++) {
+            int id = i;
+            Thread thread = new Thread(() -> task.run(id));
+            thread.setUncaughtExceptionHandler((t, ex) -> {
+                synchronized (errors) {
+                    errors.add(ex);
+                }
+            });
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!errors.isEmpty()) {
+            throw new AssertionError("worker thread failed", errors.get(0));
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int threadId);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSingleStripe() {
+        IDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>(1);
+        for (int i = 0; i < 1000; i++) {
+            dict.put(i, i * 2);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 2, dict.get(i));
+        }
+        assertEquals(1000, dict.size());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelPutsOfDisjointKeys() throws InterruptedException {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        int perThread = 50000;
+        this.runInParallel(id -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = id * perThread + i;
+                dict.put(key, -key);
+            }
+        });
+
+        assertEquals(NUM_THREADS * perThread, dict.size());
+        for (int key = 0; key < NUM_THREADS * perThread; key++) {
+            assertEquals(-key, dict.get(key));
+        }
+
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(-pair.getKey(), pair.getValue());
+            count++;
+        }
+        assertEquals(NUM_THREADS * perThread, count);
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testPutIfAbsentHasOneWinnerPerKey() throws InterruptedException {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        AtomicInteger wins = new AtomicInteger();
+        int numKeys = 20000;
+        this.runInParallel(id -> {
+            for (int key = 0; key < numKeys; key++) {
+                if (dict.putIfAbsent(key, id) == null) {
+                    wins.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(numKeys, wins.get());
+        assertEquals(numKeys, dict.size());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testComputeIsAtomic() throws InterruptedException {
+        ConcurrentChainedHashDictionary<String, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        int increments = 20000;
+        this.runInParallel(id -> {
+            for (int i = 0; i < increments; i++) {
+                dict.compute("counter" + (i % 4), (key, value) -> value == null ? 1 : value + 1);
+            }
+        });
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(NUM_THREADS * increments / 4, dict.get("counter" + i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testComputeAndComputeIfAbsent() {
+        ConcurrentChainedHashDictionary<String, String> dict = new ConcurrentChainedHashDictionary<>();
+        assertEquals("a!", dict.computeIfAbsent("a", key -> key + "!"));
+        assertEquals("a!", dict.computeIfAbsent("a", key -> "unused"));
+        assertEquals("a!?", dict.compute("a", (key, value) -> value + "?"));
+
+        // returning null removes the mapping
+        assertEquals(null, dict.compute("a", (key, value) -> null));
+        assertFalse(dict.containsKey("a"));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testReadersDuringWrites() throws InterruptedException {
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        int numKeys = 1000;
+        for (int key = 0; key < numKeys; key++) {
+            dict.put(key, key);
+        }
+        this.runInParallel(id -> {
+            for (int round = 0; round < 20; round++) {
+                if (id % 2 == 0) {
+                    // writers churn their own disjoint range above numKeys, forcing resizes
+                    for (int i = 0; i < 2000; i++) {
+                        dict.put(numKeys + id * 100000 + i, i);
+                    }
+                    for (int i = 0; i < 2000; i++) {
+                        dict.remove(numKeys + id * 100000 + i);
+                    }
+                } else {
+                    // readers must always see the stable keys
+                    for (int key = 0; key < numKeys; key++) {
+                        assertEquals(key, dict.get(key));
+                    }
+                }
+            }
+        });
+        assertEquals(numKeys, dict.size());
+    }
+}
@@ -7,6 +7,7 @@ import static org.junit.Assert.fail;
 import misc.BaseTest;
 import datastructures.concrete.KVPair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import misc.exceptions.NoSuchKeyException;
 import org.junit.Test;
 
@@ -506,4 +507,65 @@ public abstract class TestDictionary extends BaseTest {
             assertFalse(iter.hasNext());
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testCursorMatchesIterator() {
+        IDictionary<String, String> dict = this.newDictionary();
+        for (int i = 0; i < 100; i++) {
+            dict.put("key" + i, "val" + i);
+        }
+        dict.put(null, "nullVal");
+        dict.remove("key50");
+
+        List<KVPair<String, String>> expectedOutput = new ArrayList<>();
+        for (KVPair<String, String> pair : dict) {
+            expectedOutput.add(pair);
+        }
+
+        IDictionaryCursor<String, String> cursor = dict.cursor();
+        for (int i = 0; i < expectedOutput.size(); i++) {
+            assertTrue(cursor.advance());
+            assertEquals(expectedOutput.get(i).getKey(), cursor.key());
+            assertEquals(expectedOutput.get(i).getValue(), cursor.value());
+        }
+        assertFalse(cursor.advance());
+        assertFalse(cursor.advance());
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorOverEmptyDictionary() {
+        IDictionary<String, String> dict = this.newDictionary();
+        IDictionaryCursor<String, String> cursor = dict.cursor();
+        try {
+            cursor.key();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        assertFalse(cursor.advance());
+        try {
+            cursor.value();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testForEachVisitsEveryPair() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 500; i++) {
+            dict.put(i, i * i);
+        }
+
+        boolean[] seen = new boolean[500];
+        dict.forEach((key, value) -> {
+            assertEquals(key * key, value);
+            assertFalse(seen[key]);
+            seen[key] = true;
+        });
+        for (int i = 0; i < 500; i++) {
+            assertTrue(seen[i]);
+        }
+    }
 }
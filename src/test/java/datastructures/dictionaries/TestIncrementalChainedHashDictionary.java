@@ -0,0 +1,52 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Re-runs every ChainedHashDictionary test with incremental resizing turned on.
+ */
+public class TestIncrementalChainedHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(true);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rand = new Random(373);
+
+        for (int i = 0; i < 200000; i++) {
+            int key = rand.nextInt(20000) - 10000;
+            int op = rand.nextInt(10);
+            if (op < 6) {
+                dict.put(key, i);
+                expected.put(key, i);
+            } else if (op < 8) {
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), dict.remove(key));
+                }
+            } else {
+                assertEquals(expected.containsKey(key), dict.containsKey(key));
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.get(key), dict.get(key));
+                }
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(count, dict.size());
+    }
+}
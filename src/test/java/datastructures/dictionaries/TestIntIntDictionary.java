@@ -0,0 +1,75 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.IntIntDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestIntIntDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testPutGetAndReplace() {
+        IntIntDictionary dict = new IntIntDictionary();
+        dict.put(0, 10);
+        dict.put(-7, 20);
+        dict.put(0, 30);
+
+        assertEquals(2, dict.size());
+        assertEquals(30, dict.get(0));
+        assertEquals(20, dict.get(-7));
+        assertTrue(dict.containsKey(-7));
+        assertFalse(dict.containsKey(7));
+        assertEquals(-1, dict.getOrDefault(7, -1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeyErrorHandling() {
+        IntIntDictionary dict = new IntIntDictionary();
+        try {
+            dict.get(1);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.remove(1);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveKeepsProbeRunsIntact() {
+        IntIntDictionary dict = new IntIntDictionary();
+        // multiples of a large power of two collide heavily in the low bits
+        for (int i = 0; i < 1000; i++) {
+            dict.put(i << 16, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, dict.remove(i << 16));
+        }
+        assertEquals(500, dict.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i, dict.getOrDefault(i << 16, -1));
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void stressTest() {
+        int limit = 1000000;
+        IntIntDictionary dict = new IntIntDictionary();
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, -i);
+        }
+        assertEquals(limit, dict.size());
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, dict.get(i));
+            assertEquals(-i, dict.remove(i));
+        }
+        assertTrue(dict.isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestObjectIntDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testPutGetAndReplace() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        dict.put("a", 1);
+        dict.put("b", 2);
+        dict.put("a", 3);
+
+        assertEquals(2, dict.size());
+        assertEquals(3, dict.get("a"));
+        assertEquals(2, dict.get("b"));
+        assertEquals(-1, dict.getOrDefault("c", -1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKey() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        dict.put(null, 5);
+        assertTrue(dict.containsKey(null));
+        assertEquals(5, dict.remove(null));
+        assertFalse(dict.containsKey(null));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeyErrorHandling() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        try {
+            dict.get("a");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.remove("a");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollidingKeys() {
+        ObjectIntDictionary<Wrapper<Integer>> dict = new ObjectIntDictionary<>();
+        for (int i = 0; i < 500; i++) {
+            dict.put(new Wrapper<>(i, i % 3), i);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            assertEquals(i, dict.remove(new Wrapper<>(i, i % 3)));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 3 == 0 ? -1 : i, dict.getOrDefault(new Wrapper<>(i, i % 3), -1));
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void stressTest() {
+        int limit = 500000;
+        ObjectIntDictionary<Integer> dict = new ObjectIntDictionary<>();
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, -i);
+        }
+        assertEquals(limit, dict.size());
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, dict.remove(i));
+        }
+        assertTrue(dict.isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.RobinHoodHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestRobinHoodHashDictionary extends TestDictionary {
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new RobinHoodHashDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyObjectsWithSameHashCode() {
+        IDictionary<Wrapper<String>, Integer> map = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            map.put(new Wrapper<>("" + i, 0), i);
+        }
+
+        assertEquals(1000, map.size());
+
+        for (int i = 999; i >= 0; i--) {
+            String key = "" + i;
+            assertEquals(i, map.get(new Wrapper<>(key, 0)));
+            assertFalse(map.containsKey(new Wrapper<>(key + "a", 0)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testNegativeHashCode() {
+        IDictionary<Wrapper<String>, String> dict = this.newDictionary();
+
+        Wrapper<String> key1 = new Wrapper<>("foo", -1);
+        Wrapper<String> key2 = new Wrapper<>("bar", -100000);
+        Wrapper<String> key3 = new Wrapper<>("baz", 1);
+        Wrapper<String> key4 = new Wrapper<>("qux", -4);
+
+        dict.put(key1, "val1");
+        dict.put(key2, "val2");
+        dict.put(key3, "val3");
+
+        assertTrue(dict.containsKey(key1));
+        assertTrue(dict.containsKey(key2));
+        assertTrue(dict.containsKey(key3));
+        assertFalse(dict.containsKey(key4));
+
+        dict.remove(key1);
+        assertFalse(dict.containsKey(key1));
+        assertEquals("val2", dict.get(key2));
+        assertEquals("val3", dict.get(key3));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveFromCollidingRunKeepsOthersReachable() {
+        IDictionary<Wrapper<Integer>, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 200; i++) {
+            // a handful of hash codes shared by many keys forces long probe runs
+            dict.put(new Wrapper<>(i, i % 7), i);
+        }
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i, dict.remove(new Wrapper<>(i, i % 7)));
+        }
+
+        assertEquals(100, dict.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(new Wrapper<>(i, i % 7)));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void stressTest() {
+        int limit = 1000000;
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, i);
+            assertEquals(i, dict.get(i));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            assertFalse(dict.containsKey(-1 - i));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, -i);
+        }
+
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, dict.get(i));
+            dict.remove(i);
+        }
+        assertTrue(dict.isEmpty());
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.Assert.fail;
 import misc.BaseTest;
 import misc.exceptions.EmptyContainerException;
 import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import org.junit.Test;
 
@@ -257,6 +259,63 @@ public class TestArrayHeapFunctionality extends BaseTest {
         assertEquals(item1, heap.removeMin());
         assertEquals(item2, heap.removeMin());
     }
-    
-    
+
+    @Test(timeout=SECOND)
+    public void testBuildFromList() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 500; i++) {
+            list.add((i * 37) % 500);
+        }
+        IPriorityQueue<Integer> heap = new ArrayHeap<>(list);
+        assertEquals(500, heap.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+
+        heap = new ArrayHeap<>(new DoubleLinkedList<Integer>());
+        assertTrue(heap.isEmpty());
+        heap.insert(4);
+        assertEquals(4, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAll() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        IList<Integer> small = new DoubleLinkedList<>();
+        IList<Integer> large = new DoubleLinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i * 10);
+            small.add(i * 10 + 5);
+        }
+        for (int i = 0; i < 100; i++) {
+            large.add(200 - i);
+        }
+        heap.insertAll(small);
+        heap.insertAll(large);
+        assertEquals(120, heap.size());
+
+        int previous = heap.removeMin();
+        while (!heap.isEmpty()) {
+            int current = heap.removeMin();
+            assertTrue(previous <= current);
+            previous = current;
+        }
+        assertEquals(200, previous);
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllNull() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(3);
+        IList<Integer> list = new DoubleLinkedList<>();
+        list.add(1);
+        list.add(null);
+        try {
+            heap.insertAll(list);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // do nothing
+        }
+    }
 }
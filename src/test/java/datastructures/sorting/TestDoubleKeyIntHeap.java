@@ -0,0 +1,302 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleKeyIntHeap;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import datastructures.interfaces.IPriorityQueue;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestDoubleKeyIntHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testBasicInsertAndRemove() {
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(10);
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, 10.0 - i);
+        }
+        assertEquals(10, heap.size());
+        assertEquals(9, heap.peekMin());
+        assertEquals(1.0, heap.peekMinKey(), 0.0);
+        for (int i = 9; i >= 0; i--) {
+            assertTrue(heap.contains(i));
+            assertEquals(10.0 - i, heap.keyOf(i), 0.0);
+            assertEquals(i, heap.removeMin());
+            assertFalse(heap.contains(i));
+        }
+        assertTrue(heap.isEmpty());
+
+        // values can be reinserted once they have been removed
+        heap.insert(3, 1.5);
+        assertEquals(3, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBuildFromKeys() {
+        double[] keys = new double[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (i * 37) % 1000;
+        }
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(keys);
+        assertEquals(1000, heap.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, heap.peekMinKey(), 0.0);
+            int value = heap.removeMin();
+            assertEquals(i, keys[value], 0.0);
+        }
+        assertTrue(new DoubleKeyIntHeap(new double[0]).isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testClear() {
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(5);
+        heap.insert(1, 1.0);
+        heap.insert(4, 4.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+        assertFalse(heap.contains(4));
+        heap.insert(4, 2.0);
+        assertEquals(4, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKey() {
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(4);
+        heap.insert(0, 10.0);
+        heap.insert(1, 20.0);
+        heap.insert(2, 30.0);
+        heap.decreaseKey(2, 5.0);
+        assertEquals(5.0, heap.keyOf(2), 0.0);
+        heap.decreaseKey(1, 20.0);
+        assertEquals(2, heap.removeMin());
+        assertEquals(0, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrorHandling() {
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(3);
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.peekMinKey();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.insert(3, 1.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.insert(0, Double.NaN);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        heap.insert(0, 1.0);
+        try {
+            heap.insert(0, 2.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(0, 2.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(1, 0.5);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+        assertFalse(heap.contains(-1));
+        assertFalse(heap.contains(7));
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsMatchSorting() {
+        int n = 5000;
+        DoubleKeyIntHeap heap = new DoubleKeyIntHeap(n);
+        double[] keys = new double[n];
+        Random rand = new Random(373);
+        for (int i = 0; i < n; i++) {
+            keys[i] = rand.nextDouble();
+            heap.insert(i, keys[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            int value = rand.nextInt(n);
+            keys[value] -= rand.nextDouble();
+            heap.decreaseKey(value, keys[value]);
+        }
+        Arrays.sort(keys);
+        double previous = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double key = heap.peekMinKey();
+            assertEquals(keys[i], key, 0.0);
+            assertTrue(previous <= key);
+            previous = key;
+            heap.removeMin();
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemove() {
+        IIndexedPriorityQueue heap = new DoubleKeyIntHeap(10);
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, i);
+        }
+        // the minimum, a leaf, an inner entry and the last entry
+        assertEquals(0.0, heap.remove(0), 0.0);
+        assertEquals(7.0, heap.remove(7), 0.0);
+        assertEquals(2.0, heap.remove(2), 0.0);
+        assertEquals(9.0, heap.remove(9), 0.0);
+        assertEquals(6, heap.size());
+        assertFalse(heap.contains(7));
+        int[] expected = new int[] {1, 3, 4, 5, 6, 8};
+        for (int value : expected) {
+            assertEquals(value, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+
+        heap.insert(4, 1.0);
+        try {
+            heap.remove(5);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+        try {
+            heap.remove(-1);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+        // a removed value can come back
+        heap.remove(4);
+        heap.insert(4, 2.0);
+        assertEquals(2.0, heap.keyOf(4), 0.0);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomRemovesMatchSorting() {
+        // removing an entry may pull the last entry up or push it down
+        int n = 5000;
+        IIndexedPriorityQueue heap = new DoubleKeyIntHeap(n);
+        double[] keys = new double[n];
+        boolean[] removed = new boolean[n];
+        Random rand = new Random(373);
+        for (int i = 0; i < n; i++) {
+            keys[i] = rand.nextDouble();
+            heap.insert(i, keys[i]);
+        }
+        int numRemoved = 0;
+        for (int i = 0; i < n; i++) {
+            int value = rand.nextInt(n);
+            if (!removed[value]) {
+                assertEquals(keys[value], heap.remove(value), 0.0);
+                removed[value] = true;
+                numRemoved++;
+            }
+        }
+        assertEquals(n - numRemoved, heap.size());
+
+        double[] remaining = new double[n - numRemoved];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (!removed[i]) {
+                remaining[count] = keys[i];
+                count++;
+            }
+        }
+        Arrays.sort(remaining);
+        for (double key : remaining) {
+            assertEquals(key, heap.peekMinKey(), 0.0);
+            heap.removeMin();
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    /*
+     * a boxed heap entry, as the generic ArrayHeap would need
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final int value;
+        private final double key;
+
+        public Entry(int value, double key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(this.key, other.key);
+        }
+    }
+
+    /**
+     * Prints how long a million inserts followed by a million removeMins take
+     * on ArrayHeap and on DoubleKeyIntHeap. Timings are printed rather than
+     * asserted on, since they are too noisy to gate a build on, and the
+     * benchmark only runs when benchmarks are enabled.
+     */
+    @Test(timeout=60 * SECOND)
+    public void benchmarkAgainstArrayHeap() {
+        assumeBenchmarksEnabled();
+        int n = 1000000;
+        double[] keys = new double[n];
+        Random rand = new Random(373);
+        for (int i = 0; i < n; i++) {
+            keys[i] = rand.nextDouble();
+        }
+
+        long boxedTime = Long.MAX_VALUE;
+        long primitiveTime = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            IPriorityQueue<Entry> boxed = new ArrayHeap<>();
+            for (int i = 0; i < n; i++) {
+                boxed.insert(new Entry(i, keys[i]));
+            }
+            long boxedSum = 0;
+            while (!boxed.isEmpty()) {
+                boxedSum += boxed.removeMin().value;
+            }
+            boxedTime = Math.min(boxedTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            DoubleKeyIntHeap primitive = new DoubleKeyIntHeap(n);
+            for (int i = 0; i < n; i++) {
+                primitive.insert(i, keys[i]);
+            }
+            long primitiveSum = 0;
+            while (!primitive.isEmpty()) {
+                primitiveSum += primitive.removeMin();
+            }
+            primitiveTime = Math.min(primitiveTime, System.nanoTime() - start);
+            assertEquals(boxedSum, primitiveSum);
+        }
+        System.out.println(String.format("ArrayHeap: %dms, DoubleKeyIntHeap: %dms (%.1fx)",
+                boxedTime / 1000000, primitiveTime / 1000000, (double) boxedTime / primitiveTime));
+    }
+}
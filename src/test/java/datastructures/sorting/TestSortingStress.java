@@ -10,7 +10,11 @@ import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * See spec for details on what kinds of tests this class should include.
@@ -167,5 +171,71 @@ public class TestSortingStress extends BaseTest {
             assertEquals(top.get(i), heap.removeMin()); 
         }
     }
-    
+
+    @Test(timeout=20*SECOND)
+    public void testParallelTopKMatchesSequential() {
+        // many duplicates, so ties cross chunk boundaries
+        Random rand = new Random(373);
+        IList<Integer> list = new DoubleLinkedList<>();
+        int[] sorted = new int[300000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = rand.nextInt(50000);
+            list.add(sorted[i]);
+        }
+        // the reference answer is the tail of a fully sorted copy, which
+        // involves neither search
+        Arrays.sort(sorted);
+
+        int[] ks = new int[] {0, 1, 7, 1000, 8192, 8193, 299999, 300000, 400000};
+        for (int k : ks) {
+            int expectedSize = Math.min(k, sorted.length);
+            checkTail(sorted, expectedSize, Searcher.topKSort(k, list));
+            checkTail(sorted, expectedSize, Searcher.parallelTopKSort(k, list));
+        }
+        assertEquals(300000, list.size());
+    }
+
+    private static void checkTail(int[] sorted, int size, IList<Integer> actual) {
+        assertEquals(size, actual.size());
+        int i = sorted.length - size;
+        for (int item : actual) {
+            assertEquals(sorted[i], item);
+            i++;
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelTopKIllegalArguments() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        try {
+            Searcher.parallelTopKSort(-1, list);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        // a null anywhere is rejected whenever k > 0, and never looked at when
+        // k == 0, whichever way topKSort goes on this machine
+        list.add(null);
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        assertTrue(Searcher.topKSort(0, list).isEmpty());
+        assertTrue(Searcher.parallelTopKSort(0, list).isEmpty());
+        try {
+            Searcher.topKSort(10, list);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            Searcher.parallelTopKSort(10, list);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
 }
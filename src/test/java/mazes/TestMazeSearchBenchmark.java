@@ -0,0 +1,219 @@
+package mazes;
+
+import static org.junit.Assert.assertTrue;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.RoomCenterHeuristic;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import mazes.generators.maze.RandomMazeCarver;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import misc.graphs.ContractionHierarchy;
+import misc.graphs.Graph;
+import misc.graphs.LandmarkHeuristic;
+import misc.graphs.ShortestPathSearcher;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+/**
+ * Compares plain Dijkstra with A* guided by RoomCenterHeuristic, with A*
+ * guided by landmarks (ALT) and with bidirectional Dijkstra on large mazes,
+ * and prints the average number of vertices each settles per query.
+ *
+ * All searches must agree on every path length; the vertex counts are
+ * printed rather than asserted on beyond A* never settling more, as are
+ * the number of regions the carver leaves and the size of the largest. The
+ * hierarchy benchmarks also time Contraction Hierarchy preprocessing and
+ * queries against Dijkstra.
+ *
+ * Skipped unless benchmarks are enabled; see BaseTest.assumeBenchmarksEnabled.
+ */
+public class TestMazeSearchBenchmark extends BaseTest {
+    private static final int NUM_QUERIES = 200;
+    private static final int NUM_LANDMARKS = 8;
+
+    @BeforeClass
+    public static void requireBenchmarks() {
+        assumeBenchmarksEnabled();
+    }
+
+    /*
+     * carves a maze from the generator's base maze and solves random queries
+     * on it; the passages of the maze are the walls the carver removed
+     */
+    private void compare(String label, BaseMazeGenerator generator) {
+        Maze original = generator.generateBaseMaze(new Rectangle(0, 0, 4000, 4000));
+        ISet<Room> rooms = original.getRooms();
+        ISet<Wall> passages = new RandomMazeCarver(0.3).returnWallsToRemove(original);
+        Graph<Room, Wall> graph = new Graph<>(rooms, passages);
+
+        IDisjointSet<Room> regions = new ArrayDisjointSet<>();
+        for (Room room : rooms) {
+            regions.makeSet(room);
+        }
+        for (Wall wall : passages) {
+            if (regions.findSet(wall.getRoom1()) != regions.findSet(wall.getRoom2())) {
+                regions.union(wall.getRoom1(), wall.getRoom2());
+            }
+        }
+        int largestRegion = 0;
+        for (Room room : rooms) {
+            largestRegion = Math.max(largestRegion, regions.sizeOfSet(room));
+        }
+
+        Room[] roomArray = new Room[rooms.size()];
+        int count = 0;
+        for (Room room : rooms) {
+            roomArray[count] = room;
+            count++;
+        }
+
+        ShortestPathSearcher<Room, Wall> searcher = new ShortestPathSearcher<>(graph);
+        RoomCenterHeuristic heuristic = new RoomCenterHeuristic();
+        LandmarkHeuristic<Room> landmarks = graph.buildLandmarkHeuristic(NUM_LANDMARKS);
+        Random rand = new Random(373);
+        long dijkstraSettled = 0;
+        long astarSettled = 0;
+        long bidirectionalSettled = 0;
+        long altSettled = 0;
+        int answered = 0;
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            Room start = roomArray[rand.nextInt(roomArray.length)];
+            Room end = roomArray[rand.nextInt(roomArray.length)];
+            double dijkstraCost;
+            try {
+                dijkstraCost = cost(searcher.findShortestPathBetween(start, end));
+            } catch (NoPathExistsException ex) {
+                continue;
+            }
+            int dijkstraCount = searcher.getVerticesSettled();
+            double astarCost = cost(searcher.findShortestPathBetween(start, end, heuristic));
+            int astarCount = searcher.getVerticesSettled();
+            double bidirectionalCost = cost(searcher.findShortestPathBidirectional(start, end));
+            bidirectionalSettled += searcher.getVerticesSettled();
+            double altCost = cost(searcher.findShortestPathBetween(start, end, landmarks));
+            altSettled += searcher.getVerticesSettled();
+
+            assertEquals(dijkstraCost, astarCost, 1e-6);
+            assertEquals(dijkstraCost, bidirectionalCost, 1e-6);
+            assertEquals(dijkstraCost, altCost, 1e-6);
+            assertTrue(astarCount <= dijkstraCount);
+            dijkstraSettled += dijkstraCount;
+            astarSettled += astarCount;
+            answered++;
+        }
+        assertTrue(answered > 0);
+        System.out.println(String.format(
+                "%-8s %d rooms in %d regions (largest %d): Dijkstra settled %.0f/query, A* settled %.0f/query (%.1fx fewer), "
+                        + "bidirectional settled %.0f/query (%.1fx fewer), "
+                        + "ALT with %d landmarks settled %.0f/query (%.1fx fewer)",
+                label, roomArray.length, regions.numSets(), largestRegion,
+                (double) dijkstraSettled / answered, (double) astarSettled / answered,
+                (double) dijkstraSettled / astarSettled,
+                (double) bidirectionalSettled / answered,
+                (double) dijkstraSettled / bidirectionalSettled,
+                NUM_LANDMARKS, (double) altSettled / answered,
+                (double) dijkstraSettled / altSettled));
+    }
+
+    /*
+     * times Contraction Hierarchy preprocessing on a carved maze, then times
+     * the same queries answered by the hierarchy and by Dijkstra
+     */
+    private void compareHierarchy(String label, BaseMazeGenerator generator) {
+        Maze original = generator.generateBaseMaze(new Rectangle(0, 0, 4000, 4000));
+        ISet<Room> rooms = original.getRooms();
+        Graph<Room, Wall> graph = new Graph<>(rooms, new RandomMazeCarver(0.3).returnWallsToRemove(original));
+        Room[] roomArray = new Room[rooms.size()];
+        int count = 0;
+        for (Room room : rooms) {
+            roomArray[count] = room;
+            count++;
+        }
+        graph.freeze();
+
+        long start = System.nanoTime();
+        ContractionHierarchy<Room, Wall> hierarchy = graph.buildContractionHierarchy();
+        long preprocessNanos = System.nanoTime() - start;
+
+        ShortestPathSearcher<Room, Wall> searcher = new ShortestPathSearcher<>(graph);
+        Random rand = new Random(373);
+        Room[] starts = new Room[NUM_QUERIES];
+        Room[] ends = new Room[NUM_QUERIES];
+        double[] expected = new double[NUM_QUERIES];
+        long dijkstraNanos = 0;
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            starts[i] = roomArray[rand.nextInt(roomArray.length)];
+            ends[i] = roomArray[rand.nextInt(roomArray.length)];
+            start = System.nanoTime();
+            try {
+                expected[i] = cost(searcher.findShortestPathBetween(starts[i], ends[i]));
+            } catch (NoPathExistsException ex) {
+                expected[i] = Double.POSITIVE_INFINITY;
+            }
+            dijkstraNanos += System.nanoTime() - start;
+        }
+
+        long hierarchyNanos = 0;
+        long hierarchySettled = 0;
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            start = System.nanoTime();
+            double distance;
+            try {
+                distance = hierarchy.findDistanceBetween(starts[i], ends[i]);
+            } catch (NoPathExistsException ex) {
+                distance = Double.POSITIVE_INFINITY;
+            }
+            hierarchyNanos += System.nanoTime() - start;
+            hierarchySettled += hierarchy.getVerticesSettled();
+            assertEquals(expected[i], distance, 1e-6);
+            if (distance != Double.POSITIVE_INFINITY) {
+                assertEquals(expected[i], cost(hierarchy.findShortestPathBetween(starts[i], ends[i])), 1e-6);
+            }
+        }
+        System.out.println(String.format(
+                "%-8s %d rooms: hierarchy built in %d ms with %d shortcuts; "
+                        + "queries %.1f us (settled %.0f) vs Dijkstra %.1f us",
+                label, roomArray.length, preprocessNanos / 1000000, hierarchy.numShortcuts(),
+                hierarchyNanos / 1000.0 / NUM_QUERIES, (double) hierarchySettled / NUM_QUERIES,
+                dijkstraNanos / 1000.0 / NUM_QUERIES));
+    }
+
+    private static double cost(Iterable<Wall> path) {
+        double total = 0.0;
+        for (Wall wall : path) {
+            total += wall.getDistance();
+        }
+        return total;
+    }
+
+    @Test(timeout=60 * SECOND)
+    public void benchmarkGridMaze() {
+        this.compare("grid", new GridGenerator(100, 100));
+    }
+
+    @Test(timeout=60 * SECOND)
+    public void benchmarkVoronoiMaze() {
+        this.compare("voronoi", new VoronoiGenerator(5000, 10, 10, 5));
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkGridHierarchy() {
+        this.compareHierarchy("grid", new GridGenerator(300, 300));
+    }
+
+    @Test(timeout=120 * SECOND)
+    public void benchmarkVoronoiHierarchy() {
+        this.compareHierarchy("voronoi", new VoronoiGenerator(5000, 10, 10, 5));
+    }
+}
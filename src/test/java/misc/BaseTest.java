@@ -1,10 +1,21 @@
 package misc;
 
 import org.junit.Assert;
+import org.junit.Assume;
 
 public class BaseTest {
     protected static final int SECOND = 1000;
 
+    /**
+     * Skips the calling test (or, from a @BeforeClass method, the whole class)
+     * unless benchmarks were asked for with -Dbenchmarks=true, or with
+     * "gradle test -Pbenchmarks". Benchmarks only print timings, and take far
+     * too long to run as part of every build.
+     */
+    protected static void assumeBenchmarksEnabled() {
+        Assume.assumeTrue("benchmarks are disabled", Boolean.getBoolean("benchmarks"));
+    }
+
     protected static void assertEquals(double expected, double actual, double delta) {
         Assert.assertEquals(expected, actual, delta);
     }